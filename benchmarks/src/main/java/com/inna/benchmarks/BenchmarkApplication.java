@@ -0,0 +1,123 @@
+package com.inna.benchmarks;
+
+import com.inna.BookManagementApiApplication;
+import com.inna.book_management_api.dto.BookBatchItemResult;
+import com.inna.book_management_api.dto.BookBatchResult;
+import com.inna.book_management_api.models.Book;
+import com.inna.book_management_api.services.BookService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Helpers to boot the application inside a benchmark fork and seed it with books.
+ */
+final class BenchmarkApplication {
+
+    static final String[] AUTHORS = {
+            "George Orwell", "Lewis Carroll", "Mark Twain", "J.M. Barrie", "J.R.R. Tolkien",
+            "Miguel de Cervantes", "Fyodor Dostoevsky", "Leo Tolstoy", "Bram Stoker", "Jane Austen"
+    };
+
+    private static final int SEED_BATCH_SIZE = 5000;
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application without a web server, with SQL and application logging turned down.
+     *
+     * @param properties extra properties, in key=value form
+     * @return the running context
+     */
+    static ConfigurableApplicationContext start(String... properties) {
+        return run(WebApplicationType.NONE, properties);
+    }
+
+    /**
+     * Starts the application with its embedded web server on a random port.
+     * BCrypt is run at its lowest cost factor, so HTTP benchmarks are not dominated by password hashing.
+     *
+     * @param properties extra properties, in key=value form
+     * @return the running context
+     */
+    static ConfigurableApplicationContext startWebServer(String... properties) {
+        List<String> withPort = new ArrayList<>(List.of(properties));
+        withPort.add("server.port=0");
+        return run(WebApplicationType.SERVLET, withPort.toArray(String[]::new), FastPasswordHashing.class);
+    }
+
+    /**
+     * Returns the port of the embedded web server.
+     */
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static ConfigurableApplicationContext run(WebApplicationType type, String[] properties, Class<?>... sources) {
+        // passed as command line arguments so they take precedence over application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.inna=WARN",
+                "--books.batch.max-size=" + SEED_BATCH_SIZE));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(BookManagementApiApplication.class)
+                .sources(sources)
+                .web(type)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Inserts books titled "{prefix} {i}" through the batch insert path.
+     *
+     * @return the ids of the inserted books, in insertion order
+     */
+    static long[] seed(BookService bookService, String prefix, int count) {
+        long[] ids = new long[count];
+        int inserted = 0;
+        while (inserted < count) {
+            List<Book> batch = new ArrayList<>();
+            for (int i = inserted; i < Math.min(count, inserted + SEED_BATCH_SIZE); i++) {
+                batch.add(book(prefix, i));
+            }
+            BookBatchResult result = bookService.createBooks(batch);
+            for (BookBatchItemResult item : result.getItems()) {
+                ids[inserted++] = item.getId();
+            }
+        }
+        return ids;
+    }
+
+    static Book book(String prefix, long i) {
+        return new Book(prefix + " " + i, AUTHORS[(int) (i % AUTHORS.length)], 1900 + (int) (i % 100));
+    }
+
+    /*
+     * Registered as an extra source rather than annotated with @Configuration, so the application's
+     * component scan of com.inna does not pick it up in the other benchmarks.
+     */
+    static class FastPasswordHashing {
+
+        @Bean
+        static BeanPostProcessor fastPasswordEncoder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof BCryptPasswordEncoder ? new BCryptPasswordEncoder(4) : bean;
+                }
+            };
+        }
+    }
+}
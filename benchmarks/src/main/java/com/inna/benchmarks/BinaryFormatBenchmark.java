@@ -0,0 +1,154 @@
+package com.inna.benchmarks;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.inna.book_management_api.converters.AvroHttpMessageConverter;
+import com.inna.book_management_api.models.Book;
+import com.inna.jpa_one2many.dto.OrderIngestItem;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Compares the body formats of the API on large lists: encoding and decoding a list of books
+ * (GET /books, POST /books/batch) and of order items (POST /one2many-example/orders/ingest) through the same
+ * message converters the application uses. The payload size of each format is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    private static final Type BOOK_LIST = new ParameterizedTypeReference<List<Book>>() { }.getType();
+    private static final Type ORDER_LIST = new ParameterizedTypeReference<List<OrderIngestItem>>() { }.getType();
+
+    @Param({"json", "smile", "cbor", "avro"})
+    public String format;
+
+    @Param({"1000", "100000"})
+    public int listSize;
+
+    private GenericHttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private List<Book> books;
+    private List<OrderIngestItem> orders;
+    private byte[] encodedBooks;
+    private byte[] encodedOrders;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        switch (format) {
+            case "json" -> {
+                converter = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+                mediaType = MediaType.APPLICATION_JSON;
+            }
+            case "smile" -> {
+                converter = new MappingJackson2SmileHttpMessageConverter(
+                        Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+                mediaType = new MediaType("application", "x-jackson-smile");
+            }
+            case "cbor" -> {
+                converter = new MappingJackson2CborHttpMessageConverter(
+                        Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+                mediaType = MediaType.APPLICATION_CBOR;
+            }
+            case "avro" -> {
+                converter = new AvroHttpMessageConverter();
+                mediaType = AvroHttpMessageConverter.APPLICATION_AVRO;
+            }
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        books = new ArrayList<>(listSize);
+        orders = new ArrayList<>(listSize);
+        LocalDateTime start = LocalDateTime.of(2025, 6, 20, 9, 0);
+        for (int i = 0; i < listSize; i++) {
+            Book book = BenchmarkApplication.book("Encoded Book", i);
+            book.setId((long) i + 1);
+            book.setVersion(0L);
+            books.add(book);
+            orders.add(new OrderIngestItem((long) i % 1000 + 1, "BENCH-" + i,
+                    BigDecimal.valueOf(1000 + i % 50_000, 2), start.plusSeconds(i)));
+        }
+        encodedBooks = encodeBooks();
+        encodedOrders = encodeOrders();
+        System.out.printf("%n%s, %d items: books %d bytes, orders %d bytes%n",
+                format, listSize, encodedBooks.length, encodedOrders.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBooks() throws Exception {
+        return encode(books, BOOK_LIST);
+    }
+
+    @Benchmark
+    public Object decodeBooks() throws Exception {
+        return converter.read(BOOK_LIST, null, new BytesInputMessage(encodedBooks));
+    }
+
+    @Benchmark
+    public byte[] encodeOrders() throws Exception {
+        return encode(orders, ORDER_LIST);
+    }
+
+    @Benchmark
+    public Object decodeOrders() throws Exception {
+        return converter.read(ORDER_LIST, null, new BytesInputMessage(encodedOrders));
+    }
+
+    private byte[] encode(Object body, Type type) throws Exception {
+        BytesOutputMessage message = new BytesOutputMessage();
+        converter.write(body, type, mediaType, message);
+        return message.body.toByteArray();
+    }
+
+    private static final class BytesOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 16);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private record BytesInputMessage(byte[] bytes) implements HttpInputMessage {
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return new HttpHeaders();
+        }
+    }
+}
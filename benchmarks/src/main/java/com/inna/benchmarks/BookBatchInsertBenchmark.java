@@ -0,0 +1,63 @@
+package com.inna.benchmarks;
+
+import com.inna.book_management_api.models.Book;
+import com.inna.book_management_api.services.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Compares insert throughput (books per second) of POST /books/batch's service path
+ * with one createBook call per book.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookBatchInsertBenchmark {
+
+    private static final int BOOKS_PER_OPERATION = 1000;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        bookService = context.getBean(BookService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKS_PER_OPERATION)
+    public int batchInsert() {
+        List<Book> books = new ArrayList<>(BOOKS_PER_OPERATION);
+        for (int i = 0; i < BOOKS_PER_OPERATION; i++) {
+            books.add(BenchmarkApplication.book("Batch Book", sequence++));
+        }
+        return bookService.createBooks(books).getCreated();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKS_PER_OPERATION)
+    public int singleInserts() {
+        int created = 0;
+        for (int i = 0; i < BOOKS_PER_OPERATION; i++) {
+            bookService.createBook(BenchmarkApplication.book("Single Book", sequence++));
+            created++;
+        }
+        return created;
+    }
+}
@@ -0,0 +1,55 @@
+package com.inna.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inna.book_management_api.dto.BookPage;
+import com.inna.book_management_api.models.Book;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Benchmarks JSON serialization of Book lists, as returned by GET /books.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookSerializationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int listSize;
+
+    private ObjectMapper objectMapper;
+    private List<Book> books;
+    private BookPage page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build(); // same defaults as the application's mapper
+        books = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Book book = BenchmarkApplication.book("Serialized Book", i);
+            book.setId((long) i + 1);
+            book.setVersion(0L);
+            books.add(book);
+        }
+        page = new BookPage(books, BookPage.encodeCursor((long) listSize));
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,86 @@
+package com.inna.benchmarks;
+
+import com.inna.book_management_api.models.Book;
+import com.inna.book_management_api.repositories.BookRepository;
+import com.inna.book_management_api.services.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Benchmarks the BookServiceImpl hot paths against catalogs of growing size.
+ * The legacy duplicate scan reproduces the former findAll-based check for comparison;
+ * it is slow on large catalogs, restrict it with e.g. -p catalogSize=1000,10000.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private BookRepository bookRepository;
+    private long[] ids;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        bookService = context.getBean(BookService.class);
+        bookRepository = context.getBean(BookRepository.class);
+        ids = BenchmarkApplication.seed(bookService, "Seeded Book", catalogSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Book getBookById() {
+        return bookService.getBookById(randomId());
+    }
+
+    @Benchmark
+    public Book updateBook() {
+        long n = sequence.incrementAndGet();
+        return bookService.updateBook(randomId(), BenchmarkApplication.book("Updated Book", n));
+    }
+
+    @Benchmark
+    public void createAndDeleteBook() {
+        Book created = bookService.createBook(BenchmarkApplication.book("Created Book", sequence.incrementAndGet()));
+        bookService.deleteBook(created.getId());
+    }
+
+    @Benchmark
+    public boolean duplicateCheck() {
+        long i = ThreadLocalRandom.current().nextInt(catalogSize);
+        Book book = BenchmarkApplication.book("Seeded Book", i);
+        return bookRepository.existsByTitleAuthorKey(Book.titleAuthorKey(book.getTitle(), book.getAuthor()));
+    }
+
+    @Benchmark
+    public boolean legacyDuplicateScan() {
+        long i = ThreadLocalRandom.current().nextInt(catalogSize);
+        Book book = BenchmarkApplication.book("Seeded Book", i);
+        return bookRepository.findAll().stream()
+                .anyMatch(existing -> existing.getTitle().equalsIgnoreCase(book.getTitle())
+                        && existing.getAuthor().equalsIgnoreCase(book.getAuthor()));
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,68 @@
+package com.inna.benchmarks;
+
+import com.inna.book_management_api.models.Book;
+import com.inna.book_management_api.validation.YearNotInFutureValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static com.inna.book_management_api.models.Constants.AUTHOR_NAME_PATTERN;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Benchmarks bean validation of Book and its individual constraints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookValidationBenchmark {
+
+    private static final Pattern AUTHOR_PATTERN = Pattern.compile(AUTHOR_NAME_PATTERN);
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private final YearNotInFutureValidator yearValidator = new YearNotInFutureValidator();
+    private final Book validBook = new Book("Crime and Punishment", "Fyodor Dostoevsky", 1866);
+    private final Book invalidBook = new Book("", "Fyodor Dostoevsky 2nd", 3000);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Book>> validateValidBook() {
+        return validator.validate(validBook);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Book>> validateInvalidBook() {
+        return validator.validate(invalidBook);
+    }
+
+    @Benchmark
+    public boolean authorPattern() {
+        return AUTHOR_PATTERN.matcher(validBook.getAuthor()).matches();
+    }
+
+    @Benchmark
+    public boolean yearNotInFuture() {
+        return yearValidator.isValid(validBook.getPublishedYear(), null);
+    }
+}
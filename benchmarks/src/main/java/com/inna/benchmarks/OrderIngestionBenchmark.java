@@ -0,0 +1,94 @@
+package com.inna.benchmarks;
+
+import com.inna.jpa_one2many.dto.OrderIngestItem;
+import com.inna.jpa_one2many.entity.Order;
+import com.inna.jpa_one2many.entity.User;
+import com.inna.jpa_one2many.repository.UserRepository;
+import com.inna.jpa_one2many.service.OrderIngestionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Compares insert throughput (orders per second) of POST /one2many-example/orders/batch's service path
+ * with one User.addOrder transaction per order, the way orders were created before.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderIngestionBenchmark {
+
+    private static final int ORDERS_PER_OPERATION = 1000;
+
+    @Param({"1000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private OrderIngestionService orderIngestionService;
+    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+    private long[] userIds;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        orderIngestionService = context.getBean(OrderIngestionService.class);
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        List<User> created = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            created.add(new User("Benchmark User " + i, "user" + i + "@example.com"));
+        }
+        userIds = userRepository.saveAll(created).stream().mapToLong(User::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS_PER_OPERATION)
+    public int bulkIngest() {
+        List<OrderIngestItem> orders = new ArrayList<>(ORDERS_PER_OPERATION);
+        for (int i = 0; i < ORDERS_PER_OPERATION; i++) {
+            orders.add(new OrderIngestItem(randomUserId(), "BULK-" + sequence++, amount(), null));
+        }
+        return orderIngestionService.ingestOrders(orders).getCreated();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS_PER_OPERATION)
+    public int cascadeInserts() {
+        int created = 0;
+        for (int i = 0; i < ORDERS_PER_OPERATION; i++) {
+            long userId = randomUserId();
+            Order order = new Order("CASCADE-" + sequence++, amount());
+            transactionTemplate.executeWithoutResult(status ->
+                    userRepository.findById(userId).orElseThrow().addOrder(order));
+            created++;
+        }
+        return created;
+    }
+
+    private long randomUserId() {
+        return userIds[random.nextInt(userIds.length)];
+    }
+
+    private BigDecimal amount() {
+        return BigDecimal.valueOf(random.nextInt(1, 100_000), 2);
+    }
+}
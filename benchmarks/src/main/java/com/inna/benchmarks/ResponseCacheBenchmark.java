@@ -0,0 +1,95 @@
+package com.inna.benchmarks;
+
+import com.inna.book_management_api.services.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Measures the book read endpoints with and without the serialized-response cache
+ * (books.response-cache.enabled), on an unchanging catalog: single books, 100-book pages and the unpaged list,
+ * plain and gzip-encoded. Client and server share the machine, so only the two modes are comparable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ResponseCacheBenchmark {
+
+    @Param({"false", "true"})
+    public boolean responseCache;
+
+    @Param({"1000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.startWebServer(
+                "books.response-cache.enabled=" + responseCache,
+                // room for the sample books seeded at startup
+                "books.unpaged.max-results=" + 2 * catalogSize);
+        ids = BenchmarkApplication.seed(context.getBean(BookService.class), "Cached Book", catalogSize);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + BenchmarkApplication.port(context);
+        authorization = "Basic " + Base64.getEncoder().encodeToString("user:userpass".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getBookById() throws IOException, InterruptedException {
+        return get("/books/" + ids[ThreadLocalRandom.current().nextInt(ids.length)], "identity");
+    }
+
+    @Benchmark
+    public int getBooksPage() throws IOException, InterruptedException {
+        return get("/books?limit=100", "identity");
+    }
+
+    @Benchmark
+    public int getAllBooks() throws IOException, InterruptedException {
+        return get("/books?unpaged=true", "identity");
+    }
+
+    @Benchmark
+    public int getAllBooksGzip() throws IOException, InterruptedException {
+        return get("/books?unpaged=true", "gzip");
+    }
+
+    private int get(String path, String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .header("Accept-Encoding", acceptEncoding)
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,85 @@
+package com.inna.benchmarks;
+
+import com.inna.book_management_api.services.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Compares throughput and latency percentiles of the book read endpoints served by Tomcat's
+ * platform thread pool and by virtual threads (spring.threads.virtual.enabled), under 64 concurrent clients.
+ * Client and server share the machine, so the absolute numbers are only comparable between the two modes.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"10000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.startWebServer(
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                // every client may queue for a connection, rejections would be counted as fast responses
+                "database.bulkhead.max-waiting=1000",
+                "database.bulkhead.max-wait=30s");
+        ids = BenchmarkApplication.seed(context.getBean(BookService.class), "Benchmark Book", catalogSize);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + BenchmarkApplication.port(context);
+        authorization = "Basic " + Base64.getEncoder().encodeToString("user:userpass".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getBookById() throws IOException, InterruptedException {
+        return get("/books/" + ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public int getBooksPage() throws IOException, InterruptedException {
+        return get("/books?limit=20");
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -2,6 +2,7 @@ package com.inna;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Author: Inna Eisenstark
@@ -9,6 +10,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * Description: Main application class for the Book Management API.
  */
 @SpringBootApplication
+@EnableScheduling
 public class BookManagementApiApplication {
 	/**
 	 * Main method to run the Spring Boot application.
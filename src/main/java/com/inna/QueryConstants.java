@@ -0,0 +1,11 @@
+package com.inna;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Constants interface containing limits shared by the queries of the book and order modules.
+ */
+public interface QueryConstants {
+    // the most values bound to one IN list; keeps queries well below database parameter limits
+    int IN_CLAUSE_CHUNK_SIZE = 1000;
+}
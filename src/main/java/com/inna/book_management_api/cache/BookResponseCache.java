@@ -0,0 +1,246 @@
+package com.inna.book_management_api.cache;
+
+import com.inna.book_management_api.services.BookChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: BookResponseCache holds encoded GET /books and GET /books/{id} responses, so repeated reads of
+ * unchanged books are answered with stored bytes instead of loading and serializing the books again.
+ * An entry is kept per resource and Accept header, with its body as sent and, for larger bodies, gzip-compressed.
+ * Each entry records the range of book ids it lists, and a committed BookChangedEvent drops exactly the entries
+ * whose range the changed book falls into.
+ */
+public class BookResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookResponseCache.class);
+
+    // bodies smaller than this are not worth compressing
+    static final int MIN_COMPRESSED_SIZE = 1024;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    // bumped by every invalidation, so responses rendered before a change are not stored after it
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final int maxEntries;
+    private final long maxBytes;
+
+    /**
+     * @param maxEntries the maximum number of cached responses
+     * @param maxBytes   the maximum size of all cached bodies, compressed copies included
+     */
+    public BookResponseCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Identifies a cached response: the resource (path and the query parameters that select the books)
+     * and the Accept header it was negotiated for.
+     */
+    public record Key(String resource, String accept) {
+    }
+
+    /**
+     * The books a response lists: ids after {@code afterId} up to and including {@code lastId}, and, when the
+     * response ends the listing ({@code hasMore} false), any id after that as well.
+     */
+    public record Range(long afterId, long lastId, boolean hasMore) {
+
+        public static Range single(long id) {
+            return new Range(id - 1, id, true);
+        }
+
+        /**
+         * @return true if creating, changing or deleting the book with this id changes the response
+         */
+        public boolean covers(long id) {
+            return id > afterId && (id <= lastId || !hasMore);
+        }
+    }
+
+    /**
+     * A stored response: its content type, ETag and body, plus a gzip copy if the body is large enough.
+     */
+    public static final class Entry {
+        private final Range range;
+        private final String contentType;
+        private final String eTag;
+        private final byte[] body;
+        private final byte[] gzipBody;
+
+        public Entry(Range range, String contentType, String eTag, byte[] body) {
+            this.range = range;
+            this.contentType = contentType;
+            this.eTag = eTag;
+            this.body = body;
+            this.gzipBody = body.length >= MIN_COMPRESSED_SIZE ? smallerGzip(body) : null;
+        }
+
+        // Getters
+        public Range getRange() {
+            return range;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * @return the gzip-compressed body, or null if the body is small or does not compress
+         */
+        public byte[] getGzipBody() {
+            return gzipBody;
+        }
+
+        long size() {
+            return body.length + (gzipBody == null ? 0 : gzipBody.length);
+        }
+
+        private static byte[] smallerGzip(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return out.size() < body.length ? out.toByteArray() : null;
+        }
+    }
+
+    /**
+     * Looks up a response and counts the hit or miss.
+     *
+     * @param key the resource and Accept header
+     * @return the stored response, or null
+     */
+    public Entry get(Key key) {
+        Entry entry = entries.get(key);
+        (entry == null ? misses : hits).increment();
+        return entry;
+    }
+
+    /**
+     * @return the current generation, to pass to {@link #put} once the response has been rendered
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a rendered response, unless a book changed since the request started or the entry is too large.
+     *
+     * @param key        the resource and Accept header
+     * @param entry      the response
+     * @param generation the value of {@link #generation()} before the response was rendered
+     */
+    public void put(Key key, Entry entry, long generation) {
+        if (entry.size() > maxBytes / 4 || this.generation.get() != generation) {
+            return;
+        }
+        if (entries.size() >= maxEntries || bytes.get() + entry.size() > maxBytes) {
+            evict(entry.size());
+        }
+        Entry previous = entries.put(key, entry);
+        bytes.addAndGet(entry.size() - (previous == null ? 0 : previous.size()));
+        // an invalidation that ran while the entry was being stored may have missed it
+        if (this.generation.get() != generation) {
+            remove(key, entry);
+        }
+    }
+
+    /**
+     * Drops the responses listing a book that was committed or deleted.
+     *
+     * @param event the change published by BookServiceImpl
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        invalidate(event.getId());
+    }
+
+    /**
+     * Drops everything cached while the database was still being filled, by data initialization or a snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void clear() {
+        generation.incrementAndGet();
+        entries.forEach(this::remove);
+    }
+
+    /**
+     * Drops the responses whose range covers a book id.
+     *
+     * @param id the id of the changed book
+     */
+    public void invalidate(long id) {
+        generation.incrementAndGet();
+        int removed = 0;
+        for (Map.Entry<Key, Entry> cached : entries.entrySet()) {
+            if (cached.getValue().getRange().covers(id) && remove(cached.getKey(), cached.getValue())) {
+                removed++;
+            }
+        }
+        logger.debug("Book {} changed, dropped {} cached responses", id, removed);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long byteSize() {
+        return bytes.get();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private boolean remove(Key key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            bytes.addAndGet(-entry.size());
+            return true;
+        }
+        return false;
+    }
+
+    /*
+     * Drops arbitrary entries until there is room for one more entry of the given size.
+     */
+    private void evict(long size) {
+        Iterator<Map.Entry<Key, Entry>> cached = entries.entrySet().iterator();
+        while ((entries.size() >= maxEntries || bytes.get() + size > maxBytes) && cached.hasNext()) {
+            Map.Entry<Key, Entry> next = cached.next();
+            remove(next.getKey(), next.getValue());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.inna.book_management_api.cache;
+
+import com.inna.book_management_api.dto.BookPage;
+import com.inna.book_management_api.models.Book;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Serves GET /books (cursor pages and the unpaged list) and GET /books/{id} from BookResponseCache.
+ * A hit is written straight to the response, gzip-compressed when the client accepts it, without reaching the
+ * controller. A miss goes through the controller as usual and its 200 response is stored on the way out.
+ * Runs after Spring Security, so only authenticated requests are answered from the cache.
+ */
+public class BookResponseCacheFilter extends OncePerRequestFilter {
+
+    // set by the filter on cacheable requests (the id the listing starts after), read by BookResponseRangeAdvice
+    static final String AFTER_ID_ATTRIBUTE = BookResponseCacheFilter.class.getName() + ".afterId";
+    // set by BookResponseRangeAdvice to the range of books the rendered response lists
+    static final String RANGE_ATTRIBUTE = BookResponseCacheFilter.class.getName() + ".range";
+
+    private static final String BOOKS_PATH = "/books";
+    private static final Set<String> LISTING_PARAMETERS = Set.of("after", "limit", "unpaged");
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private final BookResponseCache cache;
+
+    public BookResponseCacheFilter(BookResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        BookResponseCache.Key key = cacheKey(request);
+        if (key == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        BookResponseCache.Entry cached = cache.get(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        long generation = cache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (request.getAttribute(RANGE_ATTRIBUTE) instanceof BookResponseCache.Range range
+                && wrapper.getStatus() == HttpStatus.OK.value() && wrapper.getContentType() != null
+                && wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) == null && !response.isCommitted()) {
+            BookResponseCache.Entry entry = new BookResponseCache.Entry(range, wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.ETAG), wrapper.getContentAsByteArray());
+            cache.put(key, entry, generation);
+            write(entry, request, response);
+        } else {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Records the range of books a response body lists, if the request is one the filter may cache.
+     * Called by BookResponseRangeAdvice with the body returned by the controller.
+     *
+     * @param request the current request
+     * @param body    a Book, a BookPage or the unpaged list of books
+     */
+    static void recordRange(HttpServletRequest request, Object body) {
+        if (!(request.getAttribute(AFTER_ID_ATTRIBUTE) instanceof Long afterId)) {
+            return;
+        }
+        BookResponseCache.Range range = null;
+        if (body instanceof Book book && book.getId() != null) {
+            range = BookResponseCache.Range.single(book.getId());
+        } else if (body instanceof BookPage page) {
+            range = new BookResponseCache.Range(afterId, lastId(page.getItems(), afterId), page.getNextCursor() != null);
+        } else if (body instanceof List<?> books && books.stream().allMatch(Book.class::isInstance)) {
+            @SuppressWarnings("unchecked")
+            List<Book> all = (List<Book>) books;
+            range = new BookResponseCache.Range(afterId, lastId(all, afterId), false);
+        }
+        if (range != null) {
+            request.setAttribute(RANGE_ATTRIBUTE, range);
+        }
+    }
+
+    /*
+     * The cache key of a listing or single-book read, or null if the request is not cached (other methods and
+     * paths, multi-get, unknown or repeated parameters, malformed cursors).
+     */
+    private static BookResponseCache.Key cacheKey(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        accept = accept == null || accept.isBlank() ? "*/*" : accept;
+        Map<String, String[]> parameters = request.getParameterMap();
+        if (path.equals(BOOKS_PATH)) {
+            for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+                if (!LISTING_PARAMETERS.contains(parameter.getKey()) || parameter.getValue().length != 1) {
+                    return null;
+                }
+            }
+            String unpaged = request.getParameter("unpaged");
+            if ("true".equals(unpaged)) {
+                request.setAttribute(AFTER_ID_ATTRIBUTE, 0L);
+                return new BookResponseCache.Key("all", accept);
+            }
+            if (unpaged != null && !unpaged.equals("false")) {
+                return null;
+            }
+            String after = request.getParameter("after");
+            String limit = request.getParameter("limit");
+            long afterId;
+            try {
+                afterId = after == null || after.isEmpty() ? 0L : BookPage.decodeCursor(after);
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+            request.setAttribute(AFTER_ID_ATTRIBUTE, afterId);
+            return new BookResponseCache.Key("page:" + afterId + ":" + (limit == null ? "" : limit), accept);
+        }
+        if (path.startsWith(BOOKS_PATH + "/") && parameters.isEmpty()) {
+            String id = path.substring(BOOKS_PATH.length() + 1);
+            if (id.isEmpty() || id.length() > 18 || !id.chars().allMatch(Character::isDigit)) {
+                return null;
+            }
+            request.setAttribute(AFTER_ID_ATTRIBUTE, Long.parseLong(id) - 1);
+            return new BookResponseCache.Key("book:" + Long.parseLong(id), accept);
+        }
+        return null;
+    }
+
+    private static void write(BookResponseCache.Entry entry, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.VARY, VARY);
+        // answers If-None-Match with 304, as the controller would
+        if (entry.getETag() != null && new ServletWebRequest(request, response).checkNotModified(entry.getETag())) {
+            return;
+        }
+        byte[] body = entry.getBody();
+        if (entry.getGzipBody() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            body = entry.getGzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(entry.getContentType());
+        if (entry.getETag() != null) {
+            response.setHeader(HttpHeaders.ETAG, entry.getETag());
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /*
+     * True if the Accept-Encoding header lists gzip (or *) without q=0.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].replace(" ", "");
+                    if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long lastId(List<Book> books, long afterId) {
+        return books.isEmpty() ? afterId : books.get(books.size() - 1).getId();
+    }
+}
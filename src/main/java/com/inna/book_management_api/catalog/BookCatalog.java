@@ -0,0 +1,292 @@
+package com.inna.book_management_api.catalog;
+
+import com.inna.book_management_api.models.Book;
+import com.inna.book_management_api.repositories.BookRepository;
+import com.inna.book_management_api.services.BookChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: BookCatalog is an optional in-process, read-optimized copy of the book table.
+ * Books are stored column-wise in primitive arrays: a long id maps to a slot, authors are
+ * dictionary-encoded to int codes, and a sorted id array serves keyset pages.
+ * It is loaded once the application is ready and kept in sync through BookChangedEvent.
+ * Enabled with books.catalog.in-memory.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "books.catalog.in-memory.enabled", havingValue = "true")
+public class BookCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookCatalog.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StampedLock lock = new StampedLock();
+
+    // id -> slot in the column arrays below
+    private final LongIntHashMap slotsById = new LongIntHashMap(INITIAL_CAPACITY);
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private int[] authorCodes = new int[INITIAL_CAPACITY];
+    private int[] publishedYears = new int[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+
+    // all ids in ascending order, for keyset pagination
+    private long[] sortedIds = new long[INITIAL_CAPACITY];
+    private int size;
+
+    // author dictionary: code -> author and author -> code
+    private final List<String> authors = new ArrayList<>();
+    private final Map<String, Integer> authorCodesByName = new HashMap<>();
+
+    private volatile boolean ready;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Loads every book from the database once startup (including data initialization) has finished.
+     * Until then {@link #isReady()} is false and callers read from the database.
+     * The write lock is held for the whole load, so changes committed meanwhile are applied after
+     * the streamed rows and cannot be overwritten by an older copy.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        long stamp = lock.writeLock();
+        try {
+            transaction.executeWithoutResult(status -> {
+                try (Stream<Book> books = bookRepository.streamAllByOrderByIdAsc()) {
+                    books.forEach(book -> store(book.getId(), book.getTitle(), book.getAuthor(),
+                            book.getPublishedYear(), book.getVersion()));
+                }
+            });
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        ready = true;
+        logger.info("Loaded {} books ({} distinct authors) into the in-memory catalog in {} ms",
+                size(), authorCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applies a committed book change to the catalog.
+     *
+     * @param event the change published by BookServiceImpl
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.getType() == BookChangedEvent.Type.DELETED) {
+            remove(event.getId());
+        } else {
+            put(event.getId(), event.getTitle(), event.getAuthor(), event.getPublishedYear(), event.getVersion());
+        }
+    }
+
+    /**
+     * @return true once the initial load has completed and reads can be served from memory
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Looks up a single book without touching JPA.
+     *
+     * @param id the book id
+     * @return a new, detached Book with the stored values, or empty if there is no such book
+     */
+    public Optional<Book> get(long id) {
+        long stamp = lock.tryOptimisticRead();
+        Book book = null;
+        try {
+            book = read(id);
+        } catch (RuntimeException ex) {
+            // torn read during a concurrent write, retried below under the read lock
+        }
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                book = read(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return Optional.ofNullable(book);
+    }
+
+    /**
+     * Returns books in ascending id order, starting after the given id.
+     *
+     * @param afterId only books with a larger id are returned, null to start at the beginning
+     * @param limit   the maximum number of books to return
+     * @return the books, in id order
+     */
+    public List<Book> findPage(Long afterId, int limit) {
+        long stamp = lock.readLock();
+        try {
+            int from = 0;
+            if (afterId != null) {
+                int position = Arrays.binarySearch(sortedIds, 0, size, afterId);
+                from = position >= 0 ? position + 1 : -position - 1;
+            }
+            int to = (int) Math.min((long) from + limit, size);
+            List<Book> page = new ArrayList<>(Math.max(to - from, 0));
+            for (int i = from; i < to; i++) {
+                page.add(materialize(slotsById.get(sortedIds[i])));
+            }
+            return page;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int authorCount() {
+        long stamp = lock.readLock();
+        try {
+            return authors.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Inserts or replaces a book.
+     */
+    void put(long id, String title, String author, int publishedYear, long version) {
+        long stamp = lock.writeLock();
+        try {
+            store(id, title, author, publishedYear, version);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes a book, if present.
+     */
+    void remove(long id) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotsById.remove(id);
+            if (slot == LongIntHashMap.MISSING) {
+                return;
+            }
+            titles[slot] = null; // let the title be collected
+            releaseSlot(slot);
+            int position = Arrays.binarySearch(sortedIds, 0, size, id);
+            System.arraycopy(sortedIds, position + 1, sortedIds, position, size - position - 1);
+            size--;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // callers hold the write lock
+    private void store(long id, String title, String author, int publishedYear, long version) {
+        int slot = slotsById.get(id);
+        if (slot == LongIntHashMap.MISSING) {
+            slot = allocateSlot();
+            slotsById.put(id, slot);
+            insertSortedId(id);
+        }
+        ids[slot] = id;
+        titles[slot] = title;
+        authorCodes[slot] = encodeAuthor(author);
+        publishedYears[slot] = publishedYear;
+        versions[slot] = version;
+    }
+
+    private Book read(long id) {
+        int slot = slotsById.get(id);
+        return slot == LongIntHashMap.MISSING ? null : materialize(slot);
+    }
+
+    private Book materialize(int slot) {
+        Book book = new Book(titles[slot], authors.get(authorCodes[slot]), publishedYears[slot]);
+        book.setId(ids[slot]);
+        book.setVersion(versions[slot]);
+        return book;
+    }
+
+    private int encodeAuthor(String author) {
+        Integer code = authorCodesByName.get(author);
+        if (code == null) {
+            code = authors.size();
+            authors.add(author);
+            authorCodesByName.put(author, code);
+        }
+        return code;
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            authorCodes = Arrays.copyOf(authorCodes, capacity);
+            publishedYears = Arrays.copyOf(publishedYears, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void releaseSlot(int slot) {
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    private void insertSortedId(long id) {
+        if (size == sortedIds.length) {
+            sortedIds = Arrays.copyOf(sortedIds, sortedIds.length * 2);
+        }
+        // ids come from a sequence, so this is almost always an append
+        int position = size == 0 || sortedIds[size - 1] < id
+                ? size
+                : -Arrays.binarySearch(sortedIds, 0, size, id) - 1;
+        System.arraycopy(sortedIds, position, sortedIds, position + 1, size - position);
+        sortedIds[position] = id;
+        size++;
+    }
+}
@@ -0,0 +1,129 @@
+package com.inna.book_management_api.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Open-addressing hash map from positive long keys to int values, without boxing.
+ * Not thread-safe, callers synchronize externally.
+ */
+final class LongIntHashMap {
+    static final int MISSING = -1;
+
+    private static final long EMPTY = 0L; // ids are positive, so 0 marks a free bucket
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the value for the key, or {@link #MISSING} (always for keys that are not positive)
+     */
+    int get(long key) {
+        if (key <= EMPTY) {
+            return MISSING; // 0 would match a free bucket
+        }
+        long[] keys = this.keys;
+        int mask = keys.length - 1;
+        for (int i = bucket(key, mask); ; i = (i + 1) & mask) {
+            long current = keys[i];
+            if (current == key) {
+                return values[i];
+            }
+            if (current == EMPTY) {
+                return MISSING;
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        if (key <= EMPTY) {
+            throw new IllegalArgumentException("Key must be positive: " + key);
+        }
+        if ((size + 1) * 2 > keys.length) { // keep the load factor at or below 0.5
+            resize(keys.length * 2);
+        }
+        for (int i = bucket(key, mask); ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                values[i] = value;
+                size++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the key, shifting later entries of the probe sequence back so no tombstones are needed.
+     *
+     * @return the removed value, or {@link #MISSING}
+     */
+    int remove(long key) {
+        if (key <= EMPTY) {
+            return MISSING;
+        }
+        int gap = bucket(key, mask);
+        while (keys[gap] != key) {
+            if (keys[gap] == EMPTY) {
+                return MISSING;
+            }
+            gap = (gap + 1) & mask;
+        }
+        int removed = values[gap];
+        for (int i = (gap + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            int ideal = bucket(keys[i], mask);
+            // the entry may move into the gap unless its ideal bucket lies between the gap and itself
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int bucket(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L; // spread sequential ids over the table
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,69 @@
+package com.inna.book_management_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inna.book_management_api.limiter.AdaptiveLimit;
+import com.inna.book_management_api.limiter.ConcurrencyLimitFilter;
+import com.inna.book_management_api.limiter.ConcurrencyLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Adaptive concurrency limits for the book and order endpoints, see ConcurrencyLimitFilter.
+ * Each partition (read, write, admin) is configured under api.concurrency-limit.<partition>.
+ * Enabled with api.concurrency-limit.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Creates the filter with one limiter per partition.
+     *
+     * @param environment  source of the api.concurrency-limit.* settings
+     * @param objectMapper the mapper writing the error body of rejected requests
+     * @return the ConcurrencyLimitFilter
+     */
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(Environment environment, ObjectMapper objectMapper) {
+        Duration window = environment.getProperty("api.concurrency-limit.window", Duration.class, Duration.ofMillis(100));
+        return new ConcurrencyLimitFilter(
+                limiter(environment, "read", window, 20, 4, 200),
+                limiter(environment, "write", window, 10, 2, 100),
+                limiter(environment, "admin", window, 2, 1, 10),
+                objectMapper);
+    }
+
+    /**
+     * Registers the filter for the book and order endpoints, after the Spring Security filter chain
+     * and after the response cache, so cached reads never take a permit.
+     *
+     * @param concurrencyLimitFilter the filter
+     * @return FilterRegistrationBean for ConcurrencyLimitFilter
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(
+            ConcurrencyLimitFilter concurrencyLimitFilter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(concurrencyLimitFilter);
+        registration.addUrlPatterns("/books", "/books/*", "/one2many-example/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+
+    private static ConcurrencyLimiter limiter(Environment environment, String partition, Duration window,
+                                              int initialLimit, int minLimit, int maxLimit) {
+        String prefix = "api.concurrency-limit." + partition + ".";
+        return new ConcurrencyLimiter(partition, new AdaptiveLimit(
+                environment.getProperty(prefix + "initial-limit", Integer.class, initialLimit),
+                environment.getProperty(prefix + "min-limit", Integer.class, minLimit),
+                environment.getProperty(prefix + "max-limit", Integer.class, maxLimit),
+                window.toNanos()));
+    }
+}
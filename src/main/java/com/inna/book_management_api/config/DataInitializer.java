@@ -5,23 +5,29 @@ import com.inna.book_management_api.repositories.BookRepository;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 /**
  * Author: Inna Eisenstark
  * Created: 2025-06-20
- * Description: DataInitializer class to pre-populate the database with sample book data.
+ * Description: DataInitializer class to pre-populate an empty database with sample book data.
  */
 @Configuration
 public class DataInitializer {
     /**
-     * Initializes the database with some sample book data.
+     * Initializes the database with some sample book data, except with the "datagen" profile.
      *
      * @param repository the BookRepository to save the books
      * @return a CommandLineRunner that saves sample books to the database
      */
     @Bean
+    @Profile("!datagen") // replaced by the synthetic data set
     CommandLineRunner initDatabase(BookRepository repository) {
         return args -> {
+            // the books were restored from a snapshot
+            if (repository.count() > 0) {
+                return;
+            }
             repository.save(new Book("1984", "George Orwell", 1949));
             repository.save(new Book("Alice's Adventures in Wonderland", "Lewis Carroll", 1865));
             repository.save(new Book("The Adventures of Tom Sawyer", "Mark Twain", 1876));
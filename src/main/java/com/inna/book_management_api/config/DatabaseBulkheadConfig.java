@@ -0,0 +1,46 @@
+package com.inna.book_management_api.config;
+
+import com.inna.book_management_api.datasource.BulkheadDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Puts a bulkhead in front of the connection pool, see BulkheadDataSource.
+ * With virtual threads every request gets its own thread, so the number of requests hitting the
+ * database at once is no longer limited by Tomcat's thread pool; the bulkhead takes over that role.
+ */
+@Configuration
+@ConditionalOnProperty(name = "database.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseBulkheadConfig {
+
+    /**
+     * Wraps the application DataSource in a BulkheadDataSource.
+     * Static, so the post-processor is registered before the DataSource is created.
+     *
+     * @param environment source of the database.bulkhead.* settings
+     * @return BeanPostProcessor wrapping every DataSource bean
+     */
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                return new BulkheadDataSource(dataSource,
+                        environment.getProperty("database.bulkhead.max-concurrent-calls", Integer.class, 10),
+                        environment.getProperty("database.bulkhead.max-wait", Duration.class, Duration.ofSeconds(1)),
+                        environment.getProperty("database.bulkhead.max-waiting", Integer.class, 200));
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.inna.book_management_api.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.inna.book_management_api.converters.AvroHttpMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Binary representations of request and response bodies, chosen through Accept and Content-Type:
+ * CBOR (application/cbor), Smile (application/x-jackson-smile) and Avro (application/avro).
+ * CBOR and Smile use the same Jackson settings as JSON, so only the encoding differs. All of them come after
+ * the JSON converter, so clients that accept anything still get JSON.
+ */
+@Configuration
+public class MessageConvertersConfig implements WebMvcConfigurer {
+
+    // prototype bean carrying Spring Boot's Jackson settings, a fresh builder per mapper
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    /**
+     * Replaces Spring MVC's default CBOR and Smile converters, which are built without Spring Boot's Jackson
+     * settings, and adds the Avro converter last.
+     *
+     * @param converters the configured converters, JSON included
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        replaceOrAddAfterJson(converters, MappingJackson2SmileHttpMessageConverter.class,
+                new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+        replaceOrAddAfterJson(converters, MappingJackson2CborHttpMessageConverter.class,
+                new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+        converters.add(new AvroHttpMessageConverter());
+    }
+
+    private static void replaceOrAddAfterJson(List<HttpMessageConverter<?>> converters,
+                                              Class<?> type, HttpMessageConverter<?> converter) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                converters.set(i, converter);
+                return;
+            }
+        }
+        int json = -1;
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                json = i;
+            }
+        }
+        converters.add(json + 1, converter);
+    }
+}
@@ -0,0 +1,179 @@
+package com.inna.book_management_api.config;
+
+import com.inna.book_management_api.cache.BookResponseCache;
+import com.inna.book_management_api.catalog.BookCatalog;
+import com.inna.book_management_api.datasource.BulkheadDataSource;
+import com.inna.book_management_api.limiter.ConcurrencyLimitFilter;
+import com.inna.book_management_api.limiter.ConcurrencyLimiter;
+import com.inna.book_management_api.logging.LogPipeline;
+import com.inna.book_management_api.search.BookSearchIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.sql.DataSource;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Application metrics published next to the HTTP, Hikari and Hibernate meters from Spring Boot Actuator.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Publishes the size of the in-memory catalog and of the search index.
+     *
+     * @param bookCatalog the catalog, absent when books.catalog.in-memory.enabled is false
+     * @param bookSearchIndex the search index
+     * @return MeterBinder registering the gauges
+     */
+    @Bean
+    public MeterBinder bookCacheMetrics(ObjectProvider<BookCatalog> bookCatalog, BookSearchIndex bookSearchIndex) {
+        return registry -> {
+            bookCatalog.ifAvailable(catalog -> Gauge.builder("books.catalog.size", catalog, BookCatalog::size)
+                    .description("Books held by the in-memory catalog")
+                    .register(registry));
+            Gauge.builder("books.search.index.size", bookSearchIndex, BookSearchIndex::size)
+                    .description("Books held by the search index")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes the hit rate and size of the serialized-response cache.
+     *
+     * @param bookResponseCache the cache, absent when books.response-cache.enabled is false
+     * @return MeterBinder registering the meters
+     */
+    @Bean
+    public MeterBinder bookResponseCacheMetrics(ObjectProvider<BookResponseCache> bookResponseCache) {
+        return registry -> bookResponseCache.ifAvailable(cache -> {
+            FunctionCounter.builder("books.response.cache.requests", cache, BookResponseCache::hitCount)
+                    .tag("result", "hit")
+                    .description("Book reads answered from the response cache, or not")
+                    .register(registry);
+            FunctionCounter.builder("books.response.cache.requests", cache, BookResponseCache::missCount)
+                    .tag("result", "miss")
+                    .description("Book reads answered from the response cache, or not")
+                    .register(registry);
+            Gauge.builder("books.response.cache.size", cache, BookResponseCache::size)
+                    .description("Responses held by the response cache")
+                    .register(registry);
+            Gauge.builder("books.response.cache.bytes", cache, BookResponseCache::byteSize)
+                    .description("Bytes of the responses held by the response cache")
+                    .baseUnit("bytes")
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Publishes the state of the database bulkhead, when the DataSource is wrapped in one.
+     *
+     * @param dataSource the application DataSource
+     * @return MeterBinder registering the meters
+     */
+    @Bean
+    public MeterBinder databaseBulkheadMetrics(ObjectProvider<DataSource> dataSource) {
+        return registry -> dataSource.ifAvailable(candidate -> {
+            if (candidate instanceof BulkheadDataSource bulkhead) {
+                Gauge.builder("database.bulkhead.active", bulkhead, BulkheadDataSource::getActiveCount)
+                        .description("Connections in use through the bulkhead")
+                        .register(registry);
+                Gauge.builder("database.bulkhead.waiting", bulkhead, BulkheadDataSource::getWaitingCount)
+                        .description("Callers waiting for a connection permit")
+                        .register(registry);
+                Gauge.builder("database.bulkhead.limit", bulkhead, BulkheadDataSource::getMaxConcurrentCalls)
+                        .description("Maximum connections in use at the same time")
+                        .register(registry);
+                FunctionCounter.builder("database.bulkhead.rejected", bulkhead, BulkheadDataSource::getRejectedCount)
+                        .description("Callers rejected because the bulkhead was full")
+                        .register(registry);
+            }
+        });
+    }
+
+    /**
+     * Publishes the adaptive limit, requests in flight and rejections of each concurrency limiter partition.
+     *
+     * @param concurrencyLimitFilter the filter, absent when api.concurrency-limit.enabled is false
+     * @return MeterBinder registering the meters
+     */
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(ObjectProvider<ConcurrencyLimitFilter> concurrencyLimitFilter) {
+        return registry -> concurrencyLimitFilter.ifAvailable(filter -> {
+            for (ConcurrencyLimiter limiter : filter.getLimiters()) {
+                Gauge.builder("api.concurrency.limit", limiter, candidate -> candidate.getLimit().getLimit())
+                        .tag("partition", limiter.getName())
+                        .description("Requests the partition may have in flight")
+                        .register(registry);
+                Gauge.builder("api.concurrency.in.flight", limiter, ConcurrencyLimiter::getInFlight)
+                        .tag("partition", limiter.getName())
+                        .description("Requests of the partition in flight")
+                        .register(registry);
+                FunctionCounter.builder("api.concurrency.rejected", limiter, ConcurrencyLimiter::getRejectedCount)
+                        .tag("partition", limiter.getName())
+                        .description("Requests rejected with 503 because the partition was at its limit")
+                        .register(registry);
+            }
+        });
+    }
+
+    /**
+     * Publishes the state of the asynchronous logging pipeline configured in logback-spring.xml.
+     *
+     * @param logPipeline access to the appenders and the sampling filter
+     * @return MeterBinder registering the meters
+     */
+    @Bean
+    public MeterBinder logPipelineMetrics(LogPipeline logPipeline) {
+        return registry -> {
+            FunctionCounter.builder("logging.events.dropped", logPipeline, LogPipeline::droppedCount)
+                    .description("Log events dropped because an appender queue was full")
+                    .register(registry);
+            FunctionCounter.builder("logging.events.sampled.out", logPipeline, LogPipeline::sampledOutCount)
+                    .description("Log events discarded by sampling")
+                    .register(registry);
+            Gauge.builder("logging.queue.size", logPipeline, LogPipeline::queuedCount)
+                    .description("Log events waiting to be written")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Records exceptions handled by GlobalExceptionHandler on the request observation, so the
+     * http.server.requests meters carry their type in the exception tag instead of "none".
+     *
+     * @return HandlerExceptionResolver that runs before the @ExceptionHandler methods and never resolves the exception itself
+     */
+    @Bean
+    public HandlerExceptionResolver observedExceptionResolver() {
+        return new ObservedExceptionResolver();
+    }
+
+    private static final class ObservedExceptionResolver implements HandlerExceptionResolver, Ordered {
+
+        @Override
+        public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response,
+                                             Object handler, Exception ex) {
+            ServerHttpObservationFilter.findObservationContext(request)
+                    .ifPresent(context -> context.setError(ex));
+            // let the next resolver produce the response
+            return null;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.inna.book_management_api.config;
+
+import com.inna.book_management_api.cache.BookResponseCache;
+import com.inna.book_management_api.cache.BookResponseCacheFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Serves repeated book reads from pre-encoded responses, see BookResponseCache.
+ * Enabled with books.response-cache.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "books.response-cache.enabled", havingValue = "true")
+public class ResponseCacheConfig {
+
+    @Bean
+    public BookResponseCache bookResponseCache(@Value("${books.response-cache.max-entries:10000}") int maxEntries,
+                                               @Value("${books.response-cache.max-size:64MB}") DataSize maxSize) {
+        return new BookResponseCache(maxEntries, maxSize.toBytes());
+    }
+
+    /**
+     * Registers the cache filter for the book read paths, after the Spring Security filter chain.
+     *
+     * @param bookResponseCache the cache
+     * @return FilterRegistrationBean for BookResponseCacheFilter
+     */
+    @Bean
+    public FilterRegistrationBean<BookResponseCacheFilter> bookResponseCacheFilter(BookResponseCache bookResponseCache) {
+        FilterRegistrationBean<BookResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new BookResponseCacheFilter(bookResponseCache));
+        registration.addUrlPatterns("/books", "/books/*");
+        // ahead of the concurrency limiter, so hits are served without taking a permit
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+}
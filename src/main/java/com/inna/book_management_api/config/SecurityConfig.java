@@ -1,8 +1,13 @@
 package com.inna.book_management_api.config;
 
+import com.inna.book_management_api.security.CachingAuthenticationProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -13,6 +18,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 /**
  * Author: Inna Eisenstark
  * Created: 2025-06-20
@@ -24,20 +31,32 @@ public class SecurityConfig {
     /**
      * Configures the security filter chain for the application.
      * Provides basic authentication and role-based access control.
+     * Credentials are checked by the chain's own AuthenticationManager, see {@link #authenticationProvider}.
+     *
+     * @param cacheEnabled whether verified credentials are cached
+     * @param cacheTtl     how long verified credentials are trusted
+     * @param cacheSize    the maximum number of cached credentials
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${security.auth-cache.enabled:true}") boolean cacheEnabled,
+                                                   @Value("${security.auth-cache.ttl:5m}") Duration cacheTtl,
+                                                   @Value("${security.auth-cache.max-entries:10000}") int cacheSize) throws Exception {
         // Configure HTTP security for the application with Basic Authentication.
         http
                 .csrf(csrf -> csrf.disable())// Disable CSRF since it is a none-browser application
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/h2-console/**").permitAll()// Allow access to Swagger and H2 console without authentication
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")// Metrics expose query and traffic details
                         .requestMatchers(HttpMethod.DELETE, "/books/**").hasRole("ADMIN")
                         .requestMatchers("/books/**").authenticated()
                         .anyRequest().authenticated()
                 )
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable()))  // For H2 console
-                .httpBasic(Customizer.withDefaults());
+                .httpBasic(Customizer.withDefaults())
+                // set on the chain instead of exposed as a bean, so it does not replace the global AuthenticationManager
+                .authenticationManager(new ProviderManager(authenticationProvider(cacheEnabled, cacheTtl, cacheSize)));
 
         return http.build();
     }
@@ -66,6 +85,26 @@ public class SecurityConfig {
         return new InMemoryUserDetailsManager(user, admin);
     }
 
+    /**
+     * Creates the authentication provider checking HTTP Basic credentials against the in-memory users.
+     * BCrypt is deliberately slow, so unless disabled, verified credentials are remembered for a while
+     * and later requests with the same credentials authenticate without hashing.
+     *
+     * @param cacheEnabled whether verified credentials are cached
+     * @param cacheTtl     how long verified credentials are trusted
+     * @param cacheSize    the maximum number of cached credentials
+     * @return AuthenticationProvider used by the security filter chain
+     */
+    private AuthenticationProvider authenticationProvider(boolean cacheEnabled, Duration cacheTtl, int cacheSize) {
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider();
+        daoProvider.setUserDetailsService(userDetailsService());
+        daoProvider.setPasswordEncoder(passwordEncoder());
+        if (!cacheEnabled) {
+            return daoProvider;
+        }
+        return new CachingAuthenticationProvider(daoProvider, userDetailsService(), cacheTtl, cacheSize);
+    }
+
     /**
      * Provides a password encoder bean using BCrypt.
      * This is used to encode passwords for in-memory user details.
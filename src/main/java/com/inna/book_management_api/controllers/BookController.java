@@ -1,23 +1,38 @@
 package com.inna.book_management_api.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.inna.book_management_api.dto.BookBatchResult;
+import com.inna.book_management_api.dto.BookBulkDeleteResult;
+import com.inna.book_management_api.dto.BookMultiGetResult;
+import com.inna.book_management_api.dto.BookPage;
+import com.inna.book_management_api.dto.BookPatch;
+import com.inna.book_management_api.exception.BookVersionConflictException;
 import com.inna.book_management_api.models.Book;
 import com.inna.book_management_api.services.BookService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
  * Author: Inna Eisenstark
  * Created: 2025-06-20
  * Description: Controller for managing books in the book management API.
- * Provides endpoints to create, read, update, and delete books.
+ * Provides endpoints to create, read, update (fully or partially), and delete books.
  */
 @RestController
 @RequestMapping("/books")
@@ -25,19 +40,120 @@ public class BookController {
 
     private static final Logger logger = LoggerFactory.getLogger(BookController.class);
 
+    // how many exported books are buffered before the response is flushed to the client
+    private static final int EXPORT_FLUSH_INTERVAL = 100;
+
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
-     * Gets all books from the database.
+     * Gets a page of books using cursor pagination.
+     * The whole catalog is only returned when explicitly requested with {@code unpaged=true},
+     * and is limited by a configurable hard cap.
      *
-     * @return List of all books
+     * @param after   Opaque cursor from the previous page's nextCursor
+     * @param limit   Maximum number of books on the page
+     * @param unpaged Whether to return all books as a plain list instead of a page
+     * @return A page of books, or the list of all books when unpaged
      */
     @GetMapping
-    public ResponseEntity<List<Book>> getAllBooks() {
-        logger.info("Fetching all books");
-        List<Book> books = bookService.getAllBooks();
-        logger.debug("Found {} books", books.size());
+    public ResponseEntity<?> getAllBooks(@RequestParam(required = false) String after,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(defaultValue = "false") boolean unpaged) {
+        // the ETag lets BookETagAdvice answer If-None-Match with 304 before anything is serialized
+        if (unpaged) {
+            logger.debug("Fetching all books");
+            List<Book> books = bookService.getAllBooks();
+            logger.debug("Found {} books", books.size());
+            return ResponseEntity.ok().eTag(collectionETag(books, null)).body(books);
+        }
+        logger.debug("Fetching page of books after: {}, limit: {}", after, limit);
+        BookPage page = bookService.getBooksPage(after, limit);
+        logger.debug("Found {} books on page", page.getItems().size());
+        return ResponseEntity.ok().eTag(collectionETag(page.getItems(), page.getNextCursor())).body(page);
+    }
+
+    /**
+     * Gets many books by ID in one request, e.g. {@code GET /books?ids=3,1,2}.
+     * Missing IDs are listed in the response instead of failing the request.
+     *
+     * @param ids The IDs of the books, comma separated or repeated
+     * @return The books found, in the requested order, and the missing IDs
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BookMultiGetResult> getBooksByIds(@RequestParam List<Long> ids) {
+        logger.debug("Fetching {} books by id", ids.size());
+        BookMultiGetResult result = bookService.getBooksByIds(ids);
+        logger.debug("Found {} books, {} missing", result.getBooks().size(), result.getMissing().size());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Same as {@code GET /books?ids=}, with the IDs in the request body, for ID lists too long for a URL.
+     *
+     * @param ids The IDs of the books
+     * @return The books found, in the requested order, and the missing IDs
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<BookMultiGetResult> lookupBooks(@RequestBody List<Long> ids) {
+        logger.debug("Looking up {} books by id", ids.size());
+        BookMultiGetResult result = bookService.getBooksByIds(ids);
+        logger.debug("Found {} books, {} missing", result.getBooks().size(), result.getMissing().size());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Streams the whole catalog as newline-delimited JSON, one book per line.
+     * Books are written as they are read from the database, so memory use stays constant
+     * and the first line is sent as soon as it is available.
+     *
+     * @return Streaming response body producing application/x-ndjson
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        logger.debug("Exporting all books");
+        // flushing is batched below instead of after every value
+        ObjectWriter writer = objectMapper.writerFor(Book.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null); // lines are separated by the newline only
+                long[] written = {0};
+                bookService.exportBooks(book -> {
+                    try {
+                        writer.writeValue(generator, book);
+                        generator.writeRaw('\n');
+                        // flush the first line right away, then in batches
+                        if (written[0]++ % EXPORT_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Searches books by words in their title or author.
+     *
+     * @param q     The free-text query
+     * @param limit Maximum number of books to return
+     * @return Matching books, best match first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Book>> searchBooks(@RequestParam(required = false) String q,
+                                                  @RequestParam(required = false) Integer limit) {
+        logger.debug("Searching books for: {}", q);
+        List<Book> books = bookService.searchBooks(q, limit);
+        logger.debug("Found {} matching books", books.size());
         return ResponseEntity.ok(books);
     }
 
@@ -49,10 +165,10 @@ public class BookController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<Book> getBookById(@PathVariable Long id) {
-        logger.info("Fetching book with id: {}", id);
+        logger.debug("Fetching book with id: {}", id);
         Book book = bookService.getBookById(id);
         logger.debug("Found book: {}", book);
-        return ResponseEntity.ok(book);
+        return ResponseEntity.ok().eTag(bookETag(book)).body(book);
     }
 
     /**
@@ -63,25 +179,62 @@ public class BookController {
      */
     @PostMapping
     public ResponseEntity<Book> createBook(@Valid @RequestBody Book book) {
-        logger.info("Creating new book: {}", book);
+        logger.debug("Creating new book: {}", book);
         Book createdBook = bookService.createBook(book);
-        logger.info("Book created successfully with id: {}", createdBook.getId());
-        return new ResponseEntity<>(createdBook, HttpStatus.CREATED);
+        logger.debug("Book created successfully with id: {}", createdBook.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(bookETag(createdBook)).body(createdBook);
+    }
+
+    /**
+     * Creates many books in a single request.
+     * Each book is validated individually, so invalid or duplicate books are reported
+     * in the result instead of failing the whole batch.
+     *
+     * @param books The books to create
+     * @return The outcome for each submitted book
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BookBatchResult> createBooks(@RequestBody List<Book> books) {
+        logger.debug("Creating batch of {} books", books.size());
+        BookBatchResult result = bookService.createBooks(books);
+        logger.debug("Batch created {} books", result.getCreated());
+        return ResponseEntity.ok(result);
     }
 
     /**
      * Updates an existing book in the database.
+     * With an If-Match header the update only succeeds if the book still has that ETag.
      *
-     * @param id   The ID of the book to update
-     * @param book The updated book data
+     * @param id      The ID of the book to update
+     * @param book    The updated book data
+     * @param ifMatch Optional ETag of the version the client last saw
      * @return The updated book
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Book> updateBook(@PathVariable Long id, @Valid @RequestBody Book book) {
-        logger.info("Updating book with id: {}", id);
-        Book updatedBook = bookService.updateBook(id, book);
-        logger.info("Book updated successfully");
-        return ResponseEntity.ok(updatedBook);
+    public ResponseEntity<Book> updateBook(@PathVariable Long id, @Valid @RequestBody Book book,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.debug("Updating book with id: {}", id);
+        Book updatedBook = bookService.updateBook(id, book, expectedVersion(id, ifMatch));
+        logger.debug("Book updated successfully");
+        return ResponseEntity.ok().eTag(bookETag(updatedBook)).body(updatedBook);
+    }
+
+    /**
+     * Changes only the fields present in the request body, in a single database round trip.
+     * With an If-Match header the update only succeeds if the book still has that ETag.
+     *
+     * @param id      The ID of the book to update
+     * @param patch   The fields to change
+     * @param ifMatch Optional ETag of the version the client last saw
+     * @return The updated book
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Book> patchBook(@PathVariable Long id, @Valid @RequestBody BookPatch patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.debug("Patching book with id: {}", id);
+        Book patchedBook = bookService.patchBook(id, patch, expectedVersion(id, ifMatch));
+        logger.debug("Book patched successfully");
+        return ResponseEntity.ok().eTag(bookETag(patchedBook)).body(patchedBook);
     }
 
     /**
@@ -92,9 +245,90 @@ public class BookController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBook(@PathVariable Long id) {
-        logger.info("Deleting book with id: {}", id);
+        logger.debug("Deleting book with id: {}", id);
         bookService.deleteBook(id);
-        logger.info("Book deleted successfully");
+        logger.debug("Book deleted successfully");
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Deletes every book matching the filters; at least one filter is required.
+     *
+     * @param author   Only books by this author, ignoring case
+     * @param fromYear Only books published in or after this year
+     * @param toYear   Only books published in or before this year
+     * @return The number of deleted books
+     */
+    @DeleteMapping
+    public ResponseEntity<BookBulkDeleteResult> deleteBooks(@RequestParam(required = false) String author,
+                                                            @RequestParam(required = false) Integer fromYear,
+                                                            @RequestParam(required = false) Integer toYear) {
+        logger.debug("Bulk deleting books by author: {}, from year: {}, to year: {}", author, fromYear, toYear);
+        BookBulkDeleteResult result = bookService.deleteBooks(author, fromYear, toYear);
+        logger.debug("Bulk delete removed {} books", result.getDeleted());
+        return ResponseEntity.ok(result);
+    }
+
+    /*
+     * Strong ETag of a single book, derived from its id and optimistic lock version.
+     * BookETagAdvice adds the media type of the body, see withRepresentation.
+     */
+    private static String bookETag(Book book) {
+        return "\"" + book.getId() + "-" + book.getVersion() + "\"";
+    }
+
+    /*
+     * Strong ETag of a list of books: a 64-bit hash over the ids and versions of the books, in order,
+     * plus the next-page cursor. Any change to a book on the page bumps its version and so the ETag.
+     * BookETagAdvice adds the media type of the body, see withRepresentation.
+     */
+    private static String collectionETag(List<Book> books, String nextCursor) {
+        long hash = 0xcbf29ce484222325L;
+        for (Book book : books) {
+            hash = mix(hash, book.getId() == null ? 0 : book.getId());
+            hash = mix(hash, book.getVersion() == null ? 0 : book.getVersion());
+        }
+        hash = mix(hash, nextCursor == null ? 0 : nextCursor.hashCode());
+        return "\"" + books.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long mix(long hash, long value) {
+        hash = (hash ^ value) * 0x100000001b3L;
+        return hash ^ (hash >>> 29);
+    }
+
+    /*
+     * Appends the subtype of the negotiated media type to a quoted ETag, "6-2" becoming "6-2+cbor".
+     */
+    static String withRepresentation(String eTag, MediaType contentType) {
+        if (contentType == null) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + "+" + contentType.getSubtype() + "\"";
+    }
+
+    /*
+     * Extracts the expected version from an If-Match header produced by bookETag, in any representation.
+     *
+     * @return the version, or null if the header is absent or "*"
+     * @throws BookVersionConflictException if the header does not name the current book
+     */
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (etag.startsWith(prefix) && etag.endsWith("\"")) {
+            String version = etag.substring(prefix.length(), etag.length() - 1);
+            int representation = version.indexOf('+');
+            try {
+                return Long.valueOf(representation < 0 ? version : version.substring(0, representation));
+            } catch (NumberFormatException ex) {
+                // fall through, not one of our ETags
+            }
+        }
+        // weak or foreign ETags never match a strong comparison
+        throw new BookVersionConflictException("If-Match " + ifMatch + " does not match book with id " + id);
+    }
 }
@@ -0,0 +1,79 @@
+package com.inna.book_management_api.controllers;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Completes the ETags set by BookController with the negotiated media type, e.g. "6-2+json" or
+ * "6-2+cbor", so the JSON, CBOR, Smile and Avro bodies of one book version each have their own strong validator.
+ * The media type is only known once a message converter is chosen, so If-None-Match is checked here
+ * against the complete tag rather than by Spring MVC against the one the controller set.
+ */
+@ControllerAdvice(assignableTypes = BookController.class)
+public class BookETagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        String eTag = response.getHeaders().getETag();
+        if (eTag == null || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+            return body;
+        }
+        String representationETag = BookController.withRepresentation(eTag, selectedContentType);
+        setETag(response, representationETag);
+        if ((HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod()))
+                && isOk(response) && matchesIfNoneMatch(request, representationETag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return null;
+        }
+        return body;
+    }
+
+    /*
+     * For GET and HEAD Spring MVC has already moved the controller's ETag onto the servlet response,
+     * so it is replaced there rather than added a second time through the response headers.
+     */
+    private static void setETag(ServerHttpResponse response, String eTag) {
+        if (response instanceof ServletServerHttpResponse servletResponse) {
+            response.getHeaders().remove(HttpHeaders.ETAG);
+            servletResponse.getServletResponse().setHeader(HttpHeaders.ETAG, eTag);
+        } else {
+            response.getHeaders().setETag(eTag);
+        }
+    }
+
+    private static boolean isOk(ServerHttpResponse response) {
+        return !(response instanceof ServletServerHttpResponse servletResponse)
+                || servletResponse.getServletResponse().getStatus() == HttpStatus.OK.value();
+    }
+
+    /*
+     * If-None-Match uses the weak comparison: a W/ prefix is ignored, and * matches any tag.
+     */
+    private static boolean matchesIfNoneMatch(ServerHttpRequest request, String eTag) {
+        for (String candidate : request.getHeaders().getIfNoneMatch()) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
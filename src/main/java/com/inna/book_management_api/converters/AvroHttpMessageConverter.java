@@ -0,0 +1,140 @@
+package com.inna.book_management_api.converters;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import com.fasterxml.jackson.dataformat.avro.jsr310.AvroJavaTimeModule;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Reads and writes request and response bodies as Avro binary (application/avro), a schema-based format:
+ * field names are not repeated in the payload, only the values in schema order. The schema of each payload type is
+ * generated from its Jackson properties once and cached, so both sides derive the same schema from the shared classes.
+ * Dates are Avro timestamps and decimals strings. Bodies whose declared and runtime types cannot be resolved to a
+ * concrete type (e.g. a raw List) are left to the other converters.
+ */
+public class AvroHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_AVRO = new MediaType("application", "avro");
+
+    private final AvroMapper mapper = AvroMapper.builder()
+            .addModule(new AvroJavaTimeModule())
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    // an empty Optional marks a type no schema can be generated for
+    private final ConcurrentMap<JavaType, Optional<AvroSchema>> schemas = new ConcurrentHashMap<>();
+
+    public AvroHttpMessageConverter() {
+        super(APPLICATION_AVRO);
+    }
+
+    /**
+     * Returns the schema a type is encoded with, for clients and benchmarks that decode the payloads themselves.
+     *
+     * @param type the payload type
+     * @return the schema, or empty if the type cannot be encoded
+     */
+    public Optional<AvroSchema> schemaFor(Type type) {
+        return schemaFor(mapper.constructType(type));
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return canRead(mediaType) && schemaFor(javaType(type, contextClass)).isPresent();
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && writeType(type, clazz) != null;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return schemaFor(mapper.constructType(clazz)).isPresent();
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return read(javaType(type, contextClass), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(mapper.constructType(clazz), inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        JavaType javaType = writeType(type, object.getClass());
+        AvroSchema schema = javaType == null ? null : schemaFor(javaType).orElse(null);
+        if (schema == null) {
+            throw new HttpMessageNotWritableException("No Avro schema for " + object.getClass().getName());
+        }
+        mapper.writerFor(javaType).with(schema).writeValue(outputMessage.getBody(), object);
+    }
+
+    private Object read(JavaType javaType, HttpInputMessage inputMessage) throws IOException {
+        AvroSchema schema = schemaFor(javaType).orElseThrow(() ->
+                new HttpMessageNotReadableException("No Avro schema for " + javaType, inputMessage));
+        try {
+            return mapper.readerFor(javaType).with(schema).readValue(inputMessage.getBody());
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotReadableException("Invalid Avro payload: " + ex.getOriginalMessage(), ex, inputMessage);
+        }
+    }
+
+    /*
+     * The type a body is written as: the declared type, or the runtime class when the declared type is too vague
+     * (ResponseEntity<?>), as long as the runtime class is not a raw container whose elements are unknown.
+     */
+    private JavaType writeType(Type type, Class<?> clazz) {
+        JavaType declared = type == null ? null : mapper.constructType(type);
+        if (declared != null && !declared.isJavaLangObject() && schemaFor(declared).isPresent()) {
+            return declared;
+        }
+        if (clazz == null || Collection.class.isAssignableFrom(clazz) || Map.class.isAssignableFrom(clazz)) {
+            return null;
+        }
+        JavaType runtime = mapper.constructType(clazz);
+        return schemaFor(runtime).isPresent() ? runtime : null;
+    }
+
+    private JavaType javaType(Type type, Class<?> contextClass) {
+        return mapper.constructType(GenericTypeResolver.resolveType(type, contextClass));
+    }
+
+    private Optional<AvroSchema> schemaFor(JavaType type) {
+        return schemas.computeIfAbsent(type, key -> {
+            if (key.isJavaLangObject()) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(mapper.schemaFor(key));
+            } catch (JsonMappingException | RuntimeException ex) {
+                return Optional.empty();
+            }
+        });
+    }
+}
@@ -0,0 +1,208 @@
+package com.inna.book_management_api.datagen;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntFunction;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Fills the empty database with a large synthetic data set (see SyntheticDataSet) when the "datagen"
+ * profile is active, for load and scale testing. Partitions are produced and inserted by datagen.threads workers,
+ * each partition with JDBC batches in its own transaction: books and users first, then orders, then the order
+ * aggregates of the users. The same settings always give the same rows and ids, so performance runs are reproducible.
+ * Runs before the application is ready, and after a snapshot restore, which takes precedence.
+ */
+@Component
+@Profile("datagen")
+@DependsOn("databaseSnapshot") // a restored snapshot replaces the generated data
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    // allocationSize of the book, user and order id sequences
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String UPDATE_USER_AGGREGATES =
+            "UPDATE users SET order_count = ?, total_amount = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.books:1000000}")
+    private int books;
+
+    @Value("${datagen.users:100000}")
+    private int users;
+
+    @Value("${datagen.orders:2000000}")
+    private int orders;
+
+    @Value("${datagen.authors:5000}")
+    private int authors;
+
+    @Value("${datagen.author-exponent:1.0}")
+    private double authorExponent;
+
+    @Value("${datagen.order-exponent:1.1}")
+    private double orderExponent;
+
+    @Value("${datagen.end-date:2025-06-20}")
+    private LocalDate endDate;
+
+    @Value("${datagen.order-days:730}")
+    private int orderDays;
+
+    @Value("${datagen.threads:4}")
+    private int threads;
+
+    @Value("${datagen.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Generates the data set, unless the database already holds books, users or orders.
+     *
+     * @throws IllegalArgumentException if the datagen settings are out of range.
+     * @throws IllegalStateException if a partition cannot be inserted.
+     */
+    @PostConstruct
+    void generate() {
+        Long existingRows = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM book) + (SELECT COUNT(*) FROM users) + (SELECT COUNT(*) FROM orders)", Long.class);
+        if (existingRows != null && existingRows > 0) {
+            logger.warn("Not generating data, the database already holds {} rows", existingRows);
+            return;
+        }
+        SyntheticDataSet dataSet = new SyntheticDataSet(seed, books, users, orders, authors, authorExponent,
+                orderExponent, endDate, orderDays);
+        long start = System.nanoTime();
+        logger.info("Generating {} books, {} users and {} orders with seed {} on {} threads",
+                books, users, orders, seed, threads);
+
+        // order count and total in cents per user, index = user id - 1; sums do not depend on the partition order
+        AtomicLongArray orderCounts = new AtomicLongArray(users);
+        AtomicLongArray orderCents = new AtomicLongArray(users);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            addInserts(tasks, SyntheticDataSet.INSERT_BOOK, SyntheticDataSet.partitions(books), dataSet::books);
+            addInserts(tasks, SyntheticDataSet.INSERT_USER, SyntheticDataSet.partitions(users), dataSet::users);
+            runAll(executor, tasks);
+
+            // orders reference their users, so they are inserted once every user exists
+            tasks.clear();
+            addInserts(tasks, SyntheticDataSet.INSERT_ORDER, SyntheticDataSet.partitions(orders), partition -> {
+                List<Object[]> rows = dataSet.orders(partition);
+                for (Object[] row : rows) {
+                    int user = (int) ((Long) row[4] - 1);
+                    orderCounts.incrementAndGet(user);
+                    orderCents.addAndGet(user, ((BigDecimal) row[2]).unscaledValue().longValueExact());
+                }
+                return rows;
+            });
+            runAll(executor, tasks);
+
+            tasks.clear();
+            addInserts(tasks, UPDATE_USER_AGGREGATES, SyntheticDataSet.partitions(users),
+                    partition -> aggregateUpdates(partition, orderCounts, orderCents));
+            runAll(executor, tasks);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        restartSequence("book_seq", books);
+        restartSequence("user_seq", users);
+        restartSequence("order_seq", orders);
+
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        long rows = (long) books + users + orders;
+        logger.info("Generated {} rows in {} ms ({} rows/s)", rows, millis, rows * 1000 / millis);
+    }
+
+    /*
+     * Adds one task per partition, which produces the partition's rows and inserts them in JDBC batches
+     * within a single transaction.
+     */
+    private void addInserts(List<Callable<Void>> tasks, String sql, int partitions, IntFunction<List<Object[]>> rows) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int size = Math.max(1, batchSize);
+        for (int p = 0; p < partitions; p++) {
+            int partition = p;
+            tasks.add(() -> {
+                List<Object[]> partitionRows = rows.apply(partition);
+                transaction.executeWithoutResult(status -> {
+                    for (int from = 0; from < partitionRows.size(); from += size) {
+                        jdbcTemplate.batchUpdate(sql, partitionRows.subList(from, Math.min(from + size, partitionRows.size())));
+                    }
+                });
+                return null;
+            });
+        }
+    }
+
+    private static void runAll(ExecutorService executor, List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Could not insert generated data: " + ex.getCause().getMessage(), ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating data", ex);
+        }
+    }
+
+    /*
+     * The aggregate updates of the users of one partition that have orders: order_count, total_amount, id.
+     */
+    private static List<Object[]> aggregateUpdates(int partition, AtomicLongArray orderCounts, AtomicLongArray orderCents) {
+        int first = partition * SyntheticDataSet.PARTITION_SIZE;
+        int last = Math.min(first + SyntheticDataSet.PARTITION_SIZE, orderCounts.length());
+        List<Object[]> updates = new ArrayList<>();
+        for (int user = first; user < last; user++) {
+            long count = orderCounts.get(user);
+            if (count > 0) {
+                updates.add(new Object[]{count, BigDecimal.valueOf(orderCents.get(user), 2), user + 1L});
+            }
+        }
+        return updates;
+    }
+
+    /*
+     * Moves an id sequence past the generated ids, leaving room for the block of ids Hibernate takes
+     * from a pooled sequence.
+     */
+    private void restartSequence(String sequence, int maxId) {
+        if (maxId > 0) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + ((long) maxId + ID_ALLOCATION_SIZE));
+        }
+    }
+}
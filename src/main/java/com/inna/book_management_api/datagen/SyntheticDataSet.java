@@ -0,0 +1,212 @@
+package com.inna.book_management_api.datagen;
+
+import com.inna.book_management_api.models.Book;
+import com.inna.book_management_api.models.Constants;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: SyntheticDataSet describes a generated data set of books, users and orders, split into partitions
+ * of PARTITION_SIZE rows. Each partition is a pure function of the seed, the table and the partition number: it has
+ * its own random generator and fixed ids, so partitions can be produced by any number of threads in any order and
+ * the rows are always the same. Authors of books and users of orders are drawn from Zipf distributions (the first
+ * author and the first user are the most frequent), publication years lean towards recent years, order amounts
+ * are log-normal and order dates uniform over the orderDays days ending on endDate.
+ * Rows are returned as column values in the order of the INSERT_* statements.
+ */
+public final class SyntheticDataSet {
+
+    public static final int PARTITION_SIZE = 50_000;
+
+    public static final String INSERT_BOOK =
+            "INSERT INTO book (id, title, author, published_year, version, title_author_key) VALUES (?, ?, ?, ?, ?, ?)";
+    public static final String INSERT_USER =
+            "INSERT INTO users (id, name, email, order_count, total_amount) VALUES (?, ?, ?, ?, ?)";
+    public static final String INSERT_ORDER =
+            "INSERT INTO orders (id, order_number, amount, order_date, user_id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Alan", "Anna", "Avram", "Bram", "Carmen", "Clara", "Daniel", "David", "Elena", "Emil", "Eva",
+            "Felix", "Grace", "Hannah", "Hugo", "Ida", "Isaac", "Jonah", "Julia", "Karl", "Lea", "Leo", "Lina",
+            "Maya", "Miguel", "Noa", "Oren", "Rachel", "Ruth", "Sarah", "Tamar"};
+    private static final String[] LAST_NAMES = {
+            "Adler", "Baron", "Berg", "Carroll", "Cohen", "Dahl", "Eliot", "Epstein", "Falk", "Gordon", "Hart",
+            "Katz", "Klein", "Levi", "Lowe", "Marks", "Mendel", "Novak", "Oz", "Perez", "Rabin", "Roth", "Sachs",
+            "Shaw", "Singer", "Stern", "Tal", "Twain", "Vidal", "Weiss", "Wolf", "Zamir"};
+    private static final String[] TITLE_ADJECTIVES = {
+            "Silent", "Hidden", "Last", "Broken", "Golden", "Distant", "Burning", "Forgotten", "Quiet", "Secret",
+            "Winter", "Endless", "Crimson", "Little", "Wandering", "Lost"};
+    private static final String[] TITLE_NOUNS = {
+            "River", "Garden", "Kingdom", "Letter", "Mountain", "Island", "Voyage", "House", "Empire", "Orchard",
+            "Harbor", "Forest", "Promise", "Season", "Mirror", "Road"};
+    // first name, last name and a middle initial (or none) make up an author name
+    private static final int MAX_AUTHORS = FIRST_NAMES.length * LAST_NAMES.length * 27;
+
+    private static final long BOOKS_SALT = 1;
+    private static final long USERS_SALT = 2;
+    private static final long ORDERS_SALT = 3;
+    // log-normal order amounts: median of 40.00, most orders between 10 and 200
+    private static final double AMOUNT_LOG_MEDIAN = Math.log(40);
+    private static final double AMOUNT_LOG_DEVIATION = 0.9;
+    private static final long MIN_AMOUNT_CENTS = 100;
+    private static final long MAX_AMOUNT_CENTS = 100_000_000;
+
+    private final long seed;
+    private final int books;
+    private final int users;
+    private final int orders;
+    private final LocalDate endDate;
+    private final int orderDays;
+    private final ZipfDistribution authors;
+    private final ZipfDistribution orderUsers;
+
+    /**
+     * @param seed           the seed every row is derived from
+     * @param books          the number of books
+     * @param users          the number of users
+     * @param orders         the number of orders, 0 if there are no users
+     * @param authors        the number of distinct authors
+     * @param authorExponent the Zipf exponent of books per author
+     * @param orderExponent  the Zipf exponent of orders per user
+     * @param endDate        the day of the latest orders; its year is the latest publication year
+     * @param orderDays      the number of days orders are spread over
+     * @throws IllegalArgumentException if a count is out of range
+     */
+    public SyntheticDataSet(long seed, int books, int users, int orders, int authors, double authorExponent,
+                            double orderExponent, LocalDate endDate, int orderDays) {
+        if (books < 0 || users < 0 || orders < 0) {
+            throw new IllegalArgumentException("Row counts cannot be negative");
+        }
+        if (orders > 0 && users == 0) {
+            throw new IllegalArgumentException("Orders need at least one user");
+        }
+        if (authors <= 0 || authors > MAX_AUTHORS) {
+            throw new IllegalArgumentException("Number of authors must be between 1 and " + MAX_AUTHORS);
+        }
+        if (orderDays <= 0) {
+            throw new IllegalArgumentException("Order days must be positive");
+        }
+        if (endDate.getYear() < Constants.MIN_PUBLISHED_YEAR) {
+            throw new IllegalArgumentException("End date cannot be before " + Constants.MIN_PUBLISHED_YEAR);
+        }
+        this.seed = seed;
+        this.books = books;
+        this.users = users;
+        this.orders = orders;
+        this.endDate = endDate;
+        this.orderDays = orderDays;
+        this.authors = new ZipfDistribution(authors, authorExponent);
+        this.orderUsers = users == 0 ? null : new ZipfDistribution(users, orderExponent);
+    }
+
+    public int getBooks() {
+        return books;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getOrders() {
+        return orders;
+    }
+
+    /**
+     * @param rows the number of rows of a table
+     * @return the number of partitions the table is split into
+     */
+    public static int partitions(int rows) {
+        return (rows + PARTITION_SIZE - 1) / PARTITION_SIZE;
+    }
+
+    /**
+     * @return the books of one partition: id, title, author, published_year, version, title_author_key
+     */
+    public List<Object[]> books(int partition) {
+        SplittableRandom random = random(BOOKS_SALT, partition);
+        int endYear = endDate.getYear();
+        return rows(books, partition, id -> {
+            String title = "The " + pick(random, TITLE_ADJECTIVES) + " " + pick(random, TITLE_NOUNS) + " " + id;
+            String author = authorName(authors.sample(random));
+            // cubing a uniform value leans towards 0, so most books are recent
+            double age = Math.pow(random.nextDouble(), 3);
+            int year = endYear - (int) ((endYear - Constants.MIN_PUBLISHED_YEAR) * age);
+            return new Object[]{id, title, author, year, 0L, Book.titleAuthorKey(title, author)};
+        });
+    }
+
+    /**
+     * @return the users of one partition, with empty order aggregates: id, name, email, order_count, total_amount
+     */
+    public List<Object[]> users(int partition) {
+        SplittableRandom random = random(USERS_SALT, partition);
+        return rows(users, partition, id -> new Object[]{
+                id, pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES), "user" + id + "@example.com",
+                0L, BigDecimal.ZERO.setScale(2)});
+    }
+
+    /**
+     * @return the orders of one partition: id, order_number, amount, order_date, user_id
+     */
+    public List<Object[]> orders(int partition) {
+        SplittableRandom random = random(ORDERS_SALT, partition);
+        LocalDateTime lastDay = endDate.atStartOfDay();
+        return rows(orders, partition, id -> {
+            long userId = orderUsers.sample(random) + 1L;
+            double cents = Math.exp(AMOUNT_LOG_MEDIAN + AMOUNT_LOG_DEVIATION * random.nextGaussian()) * 100;
+            long amount = Math.clamp(Math.round(cents), MIN_AMOUNT_CENTS, MAX_AMOUNT_CENTS);
+            LocalDateTime orderDate = lastDay.minusDays(random.nextInt(orderDays)).plusSeconds(random.nextInt(86_400));
+            return new Object[]{id, "GEN-" + id, BigDecimal.valueOf(amount, 2), orderDate, userId};
+        });
+    }
+
+    /*
+     * Builds the rows of one partition of a table; ids are 1-based and follow the partition number.
+     */
+    private static List<Object[]> rows(int total, int partition, LongFunction<Object[]> row) {
+        long first = (long) partition * PARTITION_SIZE;
+        int count = (int) Math.max(0, Math.min(PARTITION_SIZE, total - first));
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(row.apply(first + i + 1));
+        }
+        return rows;
+    }
+
+    /*
+     * A generator of its own per table and partition, derived from the seed with the SplitMix64 finalizer
+     * so neighbouring partitions get unrelated sequences.
+     */
+    private SplittableRandom random(long table, int partition) {
+        return new SplittableRandom(mix(seed ^ mix(table * 0x9E3779B97F4A7C15L + partition)));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+     * Gives every author rank its own name: first and last name, then a middle initial once those run out.
+     */
+    static String authorName(int rank) {
+        String first = FIRST_NAMES[rank % FIRST_NAMES.length];
+        int rest = rank / FIRST_NAMES.length;
+        String last = LAST_NAMES[rest % LAST_NAMES.length];
+        int initial = rest / LAST_NAMES.length;
+        return initial == 0 ? first + " " + last : first + " " + (char) ('A' + initial - 1) + ". " + last;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
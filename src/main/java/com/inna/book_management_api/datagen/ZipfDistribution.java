@@ -0,0 +1,60 @@
+package com.inna.book_management_api.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: ZipfDistribution draws ranks 0..n-1 where rank k is chosen with a probability proportional to
+ * 1 / (k + 1)^exponent, so a few ranks are drawn very often and most rarely. The cumulative probabilities are
+ * computed once, and each draw is a binary search over them. Instances are immutable and can be shared between threads.
+ */
+public final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    /**
+     * @param n        the number of ranks
+     * @param exponent the skew, 0 for a uniform distribution
+     * @throws IllegalArgumentException if n is not positive or the exponent is negative
+     */
+    public ZipfDistribution(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Number of ranks must be positive");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent cannot be negative");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    /**
+     * @return the number of ranks
+     */
+    public int size() {
+        return cumulative.length;
+    }
+
+    /**
+     * Draws a rank.
+     *
+     * @param random the source of randomness, the same sequence of values always gives the same ranks
+     * @return a rank between 0 and size() - 1, 0 being the most frequent
+     */
+    public int sample(SplittableRandom random) {
+        double u = random.nextDouble();
+        int index = Arrays.binarySearch(cumulative, u);
+        // not found: the insertion point is the first rank whose cumulative probability exceeds u
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,144 @@
+package com.inna.book_management_api.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: DataSource that caps the number of connections in use at the same time.
+ * A permit is taken when a connection is obtained and returned when it is closed. Callers wait at most
+ * the configured time for a permit, and are rejected at once when too many callers are already waiting,
+ * so a burst of requests (e.g. on virtual threads) fails fast instead of piling up on the connection pool.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final int maxWaiting;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param targetDataSource   the data source to guard, normally the connection pool
+     * @param maxConcurrentCalls the number of connections that may be in use at the same time
+     * @param maxWait            how long a caller waits for a permit
+     * @param maxWaiting         how many callers may wait for a permit before further callers are rejected
+     */
+    public BulkheadDataSource(DataSource targetDataSource, int maxConcurrentCalls, Duration maxWait, int maxWaiting) {
+        super(targetDataSource);
+        if (maxConcurrentCalls < 1 || maxWaiting < 0 || maxWait.isNegative()) {
+            throw new IllegalArgumentException("Invalid bulkhead limits");
+        }
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxWaiting = maxWaiting;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquirePermit();
+        try {
+            return releaseOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquirePermit();
+        try {
+            return releaseOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    /**
+     * Returns the number of connections currently in use through the bulkhead.
+     */
+    public int getActiveCount() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    /**
+     * Returns an estimate of the number of callers waiting for a permit.
+     */
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Returns the number of callers rejected since startup.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private void acquirePermit() throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (permits.getQueueLength() >= maxWaiting) {
+            rejected.increment();
+            throw new DatabaseBulkheadFullException("Too many callers waiting for a database connection");
+        }
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new DatabaseBulkheadFullException("No database connection available within "
+                        + Duration.ofNanos(maxWaitNanos).toMillis() + " ms");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBulkheadFullException("Interrupted while waiting for a database connection");
+        }
+    }
+
+    /*
+     * Wraps a connection so that closing it, once or several times, returns exactly one permit.
+     */
+    private Connection releaseOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "close" -> {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        yield null;
+                    }
+                    default -> {
+                        try {
+                            yield method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,19 @@
+package com.inna.book_management_api.datasource;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Thrown when no database connection could be obtained because the bulkhead is full.
+ * Reported to clients as 503 (Service Unavailable), see GlobalExceptionHandler.
+ */
+public class DatabaseBulkheadFullException extends SQLTransientConnectionException {
+
+    // SQLState class 08 (connection exception), so Hibernate and Spring classify it as a connection failure
+    private static final String SQL_STATE = "08004";
+
+    public DatabaseBulkheadFullException(String message) {
+        super(message, SQL_STATE);
+    }
+}
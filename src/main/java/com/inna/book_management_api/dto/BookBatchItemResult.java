@@ -0,0 +1,61 @@
+package com.inna.book_management_api.dto;
+
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: BookBatchItemResult is the outcome for a single book of a batch insert.
+ */
+public class BookBatchItemResult {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    private final int index;
+    private final Status status;
+    private final Long id;
+    private final List<String> errors;
+
+    public BookBatchItemResult(int index, Status status, Long id, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static BookBatchItemResult created(int index, Long id) {
+        return new BookBatchItemResult(index, Status.CREATED, id, List.of());
+    }
+
+    public static BookBatchItemResult duplicate(int index, String reason) {
+        return new BookBatchItemResult(index, Status.DUPLICATE, null, List.of(reason));
+    }
+
+    public static BookBatchItemResult invalid(int index, List<String> errors) {
+        return new BookBatchItemResult(index, Status.INVALID, null, errors);
+    }
+
+    // Getters
+    /**
+     * @return position of the book in the submitted batch
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
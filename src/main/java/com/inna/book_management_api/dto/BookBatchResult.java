@@ -0,0 +1,43 @@
+package com.inna.book_management_api.dto;
+
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: BookBatchResult summarizes the outcome of a batch book insert, with one result per submitted book.
+ */
+public class BookBatchResult {
+    private final int created;
+    private final int duplicates;
+    private final int invalid;
+    private final List<BookBatchItemResult> items;
+
+    public BookBatchResult(List<BookBatchItemResult> items) {
+        this.items = items;
+        this.created = count(items, BookBatchItemResult.Status.CREATED);
+        this.duplicates = count(items, BookBatchItemResult.Status.DUPLICATE);
+        this.invalid = count(items, BookBatchItemResult.Status.INVALID);
+    }
+
+    private static int count(List<BookBatchItemResult> items, BookBatchItemResult.Status status) {
+        return (int) items.stream().filter(item -> item.getStatus() == status).count();
+    }
+
+    // Getters
+    public int getCreated() {
+        return created;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public List<BookBatchItemResult> getItems() {
+        return items;
+    }
+}
@@ -0,0 +1,19 @@
+package com.inna.book_management_api.dto;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: BookBulkDeleteResult reports how many books a filtered bulk delete removed.
+ */
+public class BookBulkDeleteResult {
+    private final int deleted;
+
+    public BookBulkDeleteResult(int deleted) {
+        this.deleted = deleted;
+    }
+
+    // Getters
+    public int getDeleted() {
+        return deleted;
+    }
+}
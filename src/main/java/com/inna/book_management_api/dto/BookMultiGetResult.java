@@ -0,0 +1,30 @@
+package com.inna.book_management_api.dto;
+
+import com.inna.book_management_api.models.Book;
+
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: BookMultiGetResult holds the books found for a list of requested ids, in the requested order,
+ * and the requested ids that do not exist.
+ */
+public class BookMultiGetResult {
+    private final List<Book> books;
+    private final List<Long> missing;
+
+    public BookMultiGetResult(List<Book> books, List<Long> missing) {
+        this.books = books;
+        this.missing = missing;
+    }
+
+    // Getters
+    public List<Book> getBooks() {
+        return books;
+    }
+
+    public List<Long> getMissing() {
+        return missing;
+    }
+}
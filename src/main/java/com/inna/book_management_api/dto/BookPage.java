@@ -0,0 +1,66 @@
+package com.inna.book_management_api.dto;
+
+import com.inna.book_management_api.models.Book;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: BookPage is a single page of books returned by keyset (cursor) pagination.
+ */
+public class BookPage {
+    private static final String CURSOR_PREFIX = "id:";
+
+    private final List<Book> items;
+    private final String nextCursor;
+
+    public BookPage(List<Book> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<Book> getItems() {
+        return items;
+    }
+
+    /**
+     * @return opaque cursor to pass as {@code after} for the next page, or null on the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Encodes the id of the last book on a page into an opaque cursor.
+     *
+     * @param lastId the id of the last book returned
+     * @return URL-safe cursor string
+     */
+    public static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encodeCursor(Long)}.
+     *
+     * @param cursor the cursor sent by the client
+     * @return the id after which the next page starts
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Long decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Long.valueOf(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException ex) { // also covers NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.inna.book_management_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.inna.book_management_api.validation.YearNotInFuture;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import static com.inna.book_management_api.models.Constants.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: BookPatch holds the fields of a partial book update (PATCH /books/{id}).
+ * Fields left out (null) keep their current value; the ones present follow the same rules as on Book.
+ */
+public class BookPatch {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title cannot be blank")
+    @Size(min = MIN_TITLE_LENGTH, max = MAX_TITLE_LENGTH,
+            message = "Title must be between " + MIN_TITLE_LENGTH + " and " + MAX_TITLE_LENGTH + " characters")
+    private String title;
+
+    @Size(min = MIN_AUTHOR_LENGTH, max = MAX_AUTHOR_LENGTH,
+            message = "Author name must be between " + MIN_AUTHOR_LENGTH + " and " + MAX_AUTHOR_LENGTH + " characters")
+    @Pattern(regexp = AUTHOR_NAME_PATTERN, message = "Author name can only contain letters, spaces, dots, and hyphens")
+    private String author;
+
+    @Min(value = MIN_PUBLISHED_YEAR, message = "Published year must be at least " + MIN_PUBLISHED_YEAR)
+    @YearNotInFuture(message = "Published year cannot be in the future")
+    private Integer publishedYear;
+
+    public BookPatch() {
+    }
+
+    public BookPatch(String title, String author, Integer publishedYear) {
+        this.title = title;
+        this.author = author;
+        this.publishedYear = publishedYear;
+    }
+
+    /**
+     * @return true if the patch changes no field
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return title == null && author == null && publishedYear == null;
+    }
+
+    // Getters and Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public Integer getPublishedYear() {
+        return publishedYear;
+    }
+
+    public void setPublishedYear(Integer publishedYear) {
+        this.publishedYear = publishedYear;
+    }
+}
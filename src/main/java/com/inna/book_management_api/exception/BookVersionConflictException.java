@@ -0,0 +1,12 @@
+package com.inna.book_management_api.exception;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: BookVersionConflictException is thrown when a conditional update (If-Match) targets a version of a book that is no longer current.
+ */
+public class BookVersionConflictException extends RuntimeException {
+    public BookVersionConflictException(String message) {
+        super(message);
+    }
+}
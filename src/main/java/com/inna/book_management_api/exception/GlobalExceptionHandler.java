@@ -1,14 +1,26 @@
 package com.inna.book_management_api.exception;
 
+import com.inna.book_management_api.datasource.DatabaseBulkheadFullException;
+import org.hibernate.exception.JDBCConnectionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeException;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +35,9 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    // seconds a client should wait before retrying when the database is saturated
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     /**
      * Handles BookNotFoundException when a book is not found in the system.
      *
@@ -58,6 +73,69 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handles BookVersionConflictException when a conditional update targets an outdated version of a book.
+     *
+     * @param ex BookVersionConflictException instance containing the error details.
+     * @return ResponseEntity with ApiError containing the error details and HTTP status 412 (Precondition Failed).
+     */
+    @ExceptionHandler(BookVersionConflictException.class)
+    public ResponseEntity<ApiError> handleBookVersionConflictException(BookVersionConflictException ex) {
+        logger.warn("Book version conflict: {}", ex.getMessage());
+        ApiError apiError = new ApiError(
+                HttpStatus.PRECONDITION_FAILED,
+                "Book was modified",
+                List.of(ex.getMessage())
+        );
+        return new ResponseEntity<>(apiError, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Handles OptimisticLockingFailureException when an entity was changed by a concurrent transaction.
+     *
+     * @param ex OptimisticLockingFailureException instance containing the error details.
+     * @return ResponseEntity with ApiError containing the error details and HTTP status 409 (Conflict).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        logger.warn("Concurrent modification: {}", ex.getMessage());
+        ApiError apiError = new ApiError(
+                HttpStatus.CONFLICT,
+                "Concurrent modification",
+                List.of("The resource was modified concurrently, reload it and try again")
+        );
+        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles failures to obtain a database connection, either because the connection bulkhead is full
+     * or because the database cannot be reached.
+     *
+     * @param ex Exception instance caused by the connection failure.
+     * @return ResponseEntity with ApiError containing the error details, a Retry-After header when the
+     * bulkhead is full, and HTTP status 503 (Service Unavailable).
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class,
+            JDBCConnectionException.class})
+    public ResponseEntity<ApiError> handleDatabaseUnavailable(Exception ex) {
+        HttpHeaders headers = new HttpHeaders();
+        String message = "The database is not available";
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DatabaseBulkheadFullException) {
+                headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+                message = "Too many concurrent requests, try again later";
+                break;
+            }
+        }
+        logger.warn("Database unavailable: {}", ex.getMessage());
+        ApiError apiError = new ApiError(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Service unavailable",
+                List.of(message)
+        );
+        return new ResponseEntity<>(apiError, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handles IllegalArgumentException when an invalid argument is provided.
      *
@@ -75,6 +153,43 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles request parameters and path variables that cannot be converted to the expected type,
+     * e.g. a non-numeric book ID.
+     *
+     * @param ex MethodArgumentTypeMismatchException instance naming the parameter.
+     * @return ResponseEntity with ApiError containing the error details and HTTP status 400 (Bad Request).
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiError> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        logger.error("Invalid value for parameter {}: {}", ex.getName(), ex.getValue());
+        ApiError apiError = new ApiError(
+                HttpStatus.BAD_REQUEST,
+                "Invalid input",
+                List.of("Invalid value for parameter " + ex.getName() + ": " + ex.getValue())
+        );
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles requests whose body format (Content-Type) is not supported, or whose accepted formats (Accept)
+     * cannot represent the response, e.g. a raw list requested as application/avro.
+     *
+     * @param ex HttpMediaTypeException instance listing the supported media types.
+     * @return ResponseEntity with ApiError containing the error details and HTTP status 415 or 406.
+     */
+    @ExceptionHandler({HttpMediaTypeNotSupportedException.class, HttpMediaTypeNotAcceptableException.class})
+    public ResponseEntity<ApiError> handleMediaTypeException(HttpMediaTypeException ex) {
+        logger.warn("Unsupported media type: {}", ex.getMessage());
+        HttpStatusCode status = ex.getStatusCode();
+        ApiError apiError = new ApiError(
+                HttpStatus.valueOf(status.value()),
+                "Unsupported media type",
+                List.of("Supported media types: " + MediaType.toString(ex.getSupportedMediaTypes()))
+        );
+        return new ResponseEntity<>(apiError, status);
+    }
+
     /**
      * Handles MethodArgumentNotValidException when validation fails for a request body.
      *
@@ -99,6 +214,24 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, new HttpHeaders(), HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles ResponseStatusException thrown by the framework, e.g. for invalid Actuator requests.
+     *
+     * @param ex ResponseStatusException instance carrying the HTTP status.
+     * @return ResponseEntity with ApiError containing the error details and the status of the exception.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ApiError> handleResponseStatusException(ResponseStatusException ex) {
+        logger.warn("Request failed with status {}: {}", ex.getStatusCode(), ex.getReason());
+        HttpStatusCode status = ex.getStatusCode();
+        ApiError apiError = new ApiError(
+                HttpStatus.valueOf(status.value()),
+                "Request failed",
+                List.of(String.valueOf(ex.getReason()))
+        );
+        return new ResponseEntity<>(apiError, ex.getHeaders(), status);
+    }
+
     /**
      * Handles all uncaught exceptions in the application.
      *
@@ -0,0 +1,138 @@
+package com.inna.book_management_api.limiter;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: AdaptiveLimit estimates how many requests may be in flight at once from the latencies it observes.
+ * Latencies are averaged over short windows and compared with a long-term average. While the short-term latency
+ * stays within a tolerance of the long-term one, the limit grows by about the square root of itself per window.
+ * When requests start queueing, the short-term latency rises and the limit shrinks in proportion (gradient)
+ * within the same window.
+ * A window with a dropped request (e.g. a 503 from the database bulkhead) backs off by a fixed factor.
+ * Windows where the limit was not the bottleneck (less than half of it in use) leave it unchanged.
+ */
+public class AdaptiveLimit {
+
+    // how far the short-term latency may exceed the long-term one before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    // share of a higher estimate taken over per window
+    private static final double SMOOTHING = 0.2;
+    // the limit at most halves per window on rising latency
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF_RATIO = 0.9;
+    // weight of a window in the long-term latency average (about the last 100 windows)
+    private static final double LONG_RTT_WEIGHT = 2.0 / (100 + 1);
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+
+    private double estimatedLimit;
+    private volatile int limit;
+    private volatile double longRttNanos;
+    private volatile double shortRttNanos;
+
+    // the current window
+    private long windowStart = -1;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    /**
+     * @param initialLimit the limit until enough latencies have been observed
+     * @param minLimit     the lowest limit, however high the latency
+     * @param maxLimit     the highest limit
+     * @param windowNanos  the shortest window latencies are averaged over before the limit changes
+     */
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, long windowNanos) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits: initial " + initialLimit
+                    + ", min " + minLimit + ", max " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowNanos;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param nowNanos System.nanoTime() at completion
+     * @param rttNanos how long the request took
+     * @param inFlight requests in flight when it started, itself included
+     * @param dropped  true if the request was rejected further down because of overload
+     */
+    public synchronized void onSample(long nowNanos, long rttNanos, int inFlight, boolean dropped) {
+        if (windowStart < 0) {
+            windowStart = nowNanos;
+        }
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        windowDropped |= dropped;
+        if (nowNanos - windowStart >= windowNanos && windowSamples >= MIN_WINDOW_SAMPLES) {
+            update((double) windowRttSum / windowSamples);
+            windowStart = nowNanos;
+            windowRttSum = 0;
+            windowSamples = 0;
+            windowMaxInFlight = 0;
+            windowDropped = false;
+        }
+    }
+
+    private void update(double shortRtt) {
+        shortRttNanos = shortRtt;
+        double longRtt = longRttNanos == 0 ? shortRtt : longRttNanos * (1 - LONG_RTT_WEIGHT) + shortRtt * LONG_RTT_WEIGHT;
+        // latency fell well below the long-term average: let the average catch up faster
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        longRttNanos = longRtt;
+
+        double newLimit;
+        if (windowDropped) {
+            newLimit = estimatedLimit * BACKOFF_RATIO;
+        } else if (windowMaxInFlight < estimatedLimit / 2) {
+            return;
+        } else {
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+            newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            // grow gradually, but shed load at once
+            if (newLimit > estimatedLimit) {
+                newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+            }
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * @return the average latency of the last window, in nanoseconds (0 before the first window)
+     */
+    public double getShortRttNanos() {
+        return shortRttNanos;
+    }
+
+    /**
+     * @return the long-term average latency the last window is compared with, in nanoseconds
+     */
+    public double getLongRttNanos() {
+        return longRttNanos;
+    }
+}
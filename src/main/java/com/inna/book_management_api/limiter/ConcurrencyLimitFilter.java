@@ -0,0 +1,137 @@
+package com.inna.book_management_api.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inna.book_management_api.exception.ApiError;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Sheds load in front of the controllers: each request takes a permit from the limiter of its
+ * partition, and is answered with 503 Service Unavailable and a Retry-After header at once when the partition
+ * is at its adaptive limit. Reads (GET, HEAD and POST /books/lookup), writes and admin deletes (DELETE /books/**)
+ * have separate limiters, so a burst of one kind cannot starve the others.
+ * Runs after Spring Security, so unauthenticated and forbidden requests never take a permit.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    // seconds a client should wait before retrying a rejected request
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String BOOKS_PATH = "/books";
+    private static final String LOOKUP_PATH = BOOKS_PATH + "/lookup";
+
+    private final ConcurrencyLimiter readLimiter;
+    private final ConcurrencyLimiter writeLimiter;
+    private final ConcurrencyLimiter adminLimiter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param readLimiter  the limiter for GET and HEAD requests, and POST /books/lookup
+     * @param writeLimiter the limiter for other methods
+     * @param adminLimiter the limiter for DELETE /books/**, which only admins may call
+     * @param objectMapper the mapper writing the error body of rejected requests
+     */
+    public ConcurrencyLimitFilter(ConcurrencyLimiter readLimiter, ConcurrencyLimiter writeLimiter,
+                                  ConcurrencyLimiter adminLimiter, ObjectMapper objectMapper) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.adminLimiter = adminLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    public List<ConcurrencyLimiter> getLimiters() {
+        return List.of(readLimiter, writeLimiter, adminLimiter);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ConcurrencyLimiter limiter = limiterFor(request);
+        ConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            reject(limiter, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            permit.onIgnore();
+            throw ex;
+        }
+        if (request.isAsyncStarted()) {
+            // streamed responses hold their permit until they end, but their duration says nothing about load
+            request.getAsyncContext().addListener(new ReleasingListener(permit));
+        } else if (response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            permit.onDropped();
+        } else {
+            permit.onSuccess();
+        }
+    }
+
+    private ConcurrencyLimiter limiterFor(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            return readLimiter;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (HttpMethod.POST.matches(method) && path.equals(LOOKUP_PATH)) {
+            return readLimiter; // a multi-get with the ids in the body
+        }
+        if (HttpMethod.DELETE.matches(method) && (path.equals(BOOKS_PATH) || path.startsWith(BOOKS_PATH + "/"))) {
+            return adminLimiter;
+        }
+        return writeLimiter;
+    }
+
+    private void reject(ConcurrencyLimiter limiter, HttpServletResponse response) throws IOException {
+        logger.debug("Rejected request, {} limit of {} reached", limiter.getName(), limiter.getLimit().getLimit());
+        ApiError apiError = new ApiError(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Service unavailable",
+                List.of("Too many concurrent requests, try again later")
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), apiError);
+    }
+
+    private record ReleasingListener(ConcurrencyLimiter.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.onIgnore();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.onIgnore();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.onIgnore();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
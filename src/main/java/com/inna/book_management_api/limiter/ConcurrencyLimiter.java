@@ -0,0 +1,119 @@
+package com.inna.book_management_api.limiter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: ConcurrencyLimiter admits requests of one partition (e.g. reads) while fewer than its adaptive
+ * limit are in flight, and rejects the rest at once instead of letting them queue.
+ * Each admitted request reports back through its Permit, which feeds its latency into the limit.
+ */
+public class ConcurrencyLimiter {
+
+    private final String name;
+    private final AdaptiveLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public ConcurrencyLimiter(String name, AdaptiveLimit limit) {
+        this.name = name;
+        this.limit = limit;
+    }
+
+    /**
+     * Admits a request if the partition is below its limit.
+     *
+     * @return the permit to complete once the request is done, or null if the request must be rejected
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                rejected.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return new Permit(System.nanoTime(), current + 1);
+            }
+        }
+    }
+
+    /**
+     * An admitted request. Exactly one of the completion methods should be called, further calls are ignored.
+     */
+    public final class Permit {
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * The request completed, its latency counts towards the limit.
+         */
+        public void onSuccess() {
+            release(false, true);
+        }
+
+        /**
+         * The request was rejected further down because of overload, the limit backs off.
+         */
+        public void onDropped() {
+            release(true, true);
+        }
+
+        /**
+         * The request ended in a way that says nothing about load (e.g. a failure or a long-lived stream).
+         */
+        public void onIgnore() {
+            release(false, false);
+        }
+
+        private void release(boolean drop, boolean sample) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            inFlight.decrementAndGet();
+            if (drop) {
+                dropped.increment();
+            }
+            if (sample) {
+                long now = System.nanoTime();
+                limit.onSample(now, now - startNanos, inFlightAtStart, drop);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public AdaptiveLimit getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
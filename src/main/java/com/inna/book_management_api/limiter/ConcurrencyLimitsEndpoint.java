@@ -0,0 +1,48 @@
+package com.inna.book_management_api.limiter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Actuator endpoint (/actuator/concurrencylimits) showing the current adaptive limit of each
+ * request partition, the requests in flight, the latencies the limit is derived from and the rejection counts.
+ */
+@Component
+@Endpoint(id = "concurrencylimits")
+@ConditionalOnProperty(name = "api.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitsEndpoint {
+
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    /**
+     * Returns the state of the read, write and admin limiters.
+     */
+    @ReadOperation
+    public Map<String, Object> limits() {
+        Map<String, Object> limits = new LinkedHashMap<>();
+        for (ConcurrencyLimiter limiter : concurrencyLimitFilter.getLimiters()) {
+            AdaptiveLimit limit = limiter.getLimit();
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("limit", limit.getLimit());
+            state.put("minLimit", limit.getMinLimit());
+            state.put("maxLimit", limit.getMaxLimit());
+            state.put("inFlight", limiter.getInFlight());
+            state.put("shortRttMillis", limit.getShortRttNanos() / 1_000_000);
+            state.put("longRttMillis", limit.getLongRttNanos() / 1_000_000);
+            state.put("accepted", limiter.getAcceptedCount());
+            state.put("rejected", limiter.getRejectedCount());
+            state.put("dropped", limiter.getDroppedCount());
+            limits.put(limiter.getName(), state);
+        }
+        return limits;
+    }
+}
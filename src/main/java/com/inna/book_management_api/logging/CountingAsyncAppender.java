@@ -0,0 +1,53 @@
+package com.inna.book_management_api.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Asynchronous appender that never blocks the logging thread and counts the events it drops.
+ * Events are handed to a bounded queue drained by a single worker thread. Once the free capacity falls
+ * below the discarding threshold (a fifth of the queue by default) TRACE, DEBUG and INFO events are dropped,
+ * and when the queue is full every event is dropped. Unlike the Logback base class, each drop is counted.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    // free queue slots kept for WARN and ERROR events
+    private int warnReserve;
+
+    @Override
+    public void start() {
+        warnReserve = getDiscardingThreshold() < 0 ? getQueueSize() / 5 : getDiscardingThreshold();
+        // the base class would drop silently, both policies are applied and counted in append
+        setDiscardingThreshold(0);
+        setNeverBlock(true);
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!isStarted()) {
+            return;
+        }
+        int remaining = getRemainingCapacity();
+        if (remaining == 0 || (remaining < warnReserve && event.getLevel().toInt() <= Level.INFO_INT)) {
+            dropped.increment();
+            return;
+        }
+        // a concurrent writer may still fill the queue first, so the count is a lower bound under contention
+        super.append(event);
+    }
+
+    /**
+     * Returns the number of events dropped since the appender was started.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
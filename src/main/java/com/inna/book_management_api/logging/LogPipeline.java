@@ -0,0 +1,89 @@
+package com.inna.book_management_api.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Access to the asynchronous appenders and the sampling filter configured in logback-spring.xml.
+ * They are looked up on every call because Spring Boot may reconfigure Logback while the application starts.
+ */
+@Component
+public class LogPipeline {
+
+    /**
+     * Returns the asynchronous appenders attached to the root logger.
+     */
+    public List<CountingAsyncAppender> asyncAppenders() {
+        List<CountingAsyncAppender> appenders = new ArrayList<>();
+        Iterator<Appender<ILoggingEvent>> iterator = loggerContext().getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (iterator.hasNext()) {
+            if (iterator.next() instanceof CountingAsyncAppender appender) {
+                appenders.add(appender);
+            }
+        }
+        return appenders;
+    }
+
+    /**
+     * Returns the sampling filter, if one is configured.
+     */
+    public Optional<SamplingTurboFilter> samplingFilter() {
+        return loggerContext().getTurboFilterList().stream()
+                .filter(SamplingTurboFilter.class::isInstance)
+                .map(SamplingTurboFilter.class::cast)
+                .findFirst();
+    }
+
+    /**
+     * Returns the sampling filter, registering one that keeps every event if none is configured.
+     */
+    public SamplingTurboFilter samplingFilterOrCreate() {
+        LoggerContext context = loggerContext();
+        synchronized (context) {
+            return samplingFilter().orElseGet(() -> {
+                SamplingTurboFilter filter = new SamplingTurboFilter();
+                filter.setName("SAMPLING");
+                filter.setContext(context);
+                filter.start();
+                context.addTurboFilter(filter);
+                return filter;
+            });
+        }
+    }
+
+    /**
+     * Returns the total number of events dropped by the asynchronous appenders.
+     */
+    public long droppedCount() {
+        return asyncAppenders().stream().mapToLong(CountingAsyncAppender::getDroppedCount).sum();
+    }
+
+    /**
+     * Returns the total number of events waiting in the asynchronous appender queues.
+     */
+    public int queuedCount() {
+        return asyncAppenders().stream().mapToInt(CountingAsyncAppender::getNumberOfElementsInQueue).sum();
+    }
+
+    /**
+     * Returns the number of events discarded by sampling.
+     */
+    public long sampledOutCount() {
+        return samplingFilter().map(SamplingTurboFilter::getSampledOutCount).orElse(0L);
+    }
+
+    private LoggerContext loggerContext() {
+        return (LoggerContext) LoggerFactory.getILoggerFactory();
+    }
+}
@@ -0,0 +1,61 @@
+package com.inna.book_management_api.logging;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Actuator endpoint (/actuator/logpipeline) showing the state of the asynchronous log appenders
+ * and changing sampling rates at runtime. Log levels are changed through the standard /actuator/loggers endpoint.
+ */
+@Component
+@Endpoint(id = "logpipeline")
+public class LogPipelineEndpoint {
+
+    @Autowired
+    private LogPipeline logPipeline;
+
+    /**
+     * Returns the queue depth and drop count of each asynchronous appender, and the sampling rates.
+     */
+    @ReadOperation
+    public Map<String, Object> pipeline() {
+        Map<String, Object> appenders = new LinkedHashMap<>();
+        for (CountingAsyncAppender appender : logPipeline.asyncAppenders()) {
+            appenders.put(appender.getName(), Map.of(
+                    "queueSize", appender.getQueueSize(),
+                    "queued", appender.getNumberOfElementsInQueue(),
+                    "dropped", appender.getDroppedCount()));
+        }
+        Map<String, Object> sampling = new LinkedHashMap<>();
+        logPipeline.samplingFilter().ifPresent(filter -> {
+            sampling.put("rates", filter.getRates());
+            sampling.put("sampledOut", filter.getSampledOutCount());
+        });
+        return Map.of("appenders", appenders, "sampling", sampling);
+    }
+
+    /**
+     * Sets the share of events below WARN kept for a logger and its children.
+     *
+     * @param logger the logger name, or ROOT for all loggers
+     * @param rate a share between 0 and 1, or null to stop sampling the logger
+     */
+    @WriteOperation
+    public void setSamplingRate(String logger, @Nullable Double rate) {
+        try {
+            logPipeline.samplingFilterOrCreate().setRate(logger, rate);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.inna.book_management_api.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Logback turbo filter that keeps only a share of the TRACE, DEBUG and INFO events of selected loggers.
+ * Rates are set per logger name and inherited by child loggers, e.g. {@code <samples>com.inna=0.1</samples>}
+ * keeps about one event in ten below WARN. WARN and ERROR events, and events carrying an exception, are always kept.
+ * Rates can be changed at runtime through {@link #setRate(String, Double)}.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final double KEEP_ALL = 1.0;
+
+    // configured rates by logger name
+    private final Map<String, Double> rates = new ConcurrentHashMap<>();
+
+    // rates resolved for each logger that has logged, cleared whenever a rate changes
+    private final Map<String, Double> effectiveRates = new ConcurrentHashMap<>();
+
+    private final LongAdder sampledOut = new LongAdder();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // level checks such as isDebugEnabled() have no format, sampling happens on the actual call
+        if (!isStarted() || format == null || t != null || level.toInt() >= Level.WARN_INT
+                || level.toInt() < logger.getEffectiveLevel().toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+        double rate = effectiveRates.computeIfAbsent(logger.getName(), this::resolveRate);
+        if (rate >= KEEP_ALL || ThreadLocalRandom.current().nextDouble() < rate) {
+            return FilterReply.NEUTRAL;
+        }
+        sampledOut.increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * Sets rates from the Logback configuration, as a comma-separated list of {@code logger=rate} pairs.
+     */
+    public void setSamples(String samples) {
+        for (String sample : samples.split(",")) {
+            if (sample.isBlank()) {
+                continue;
+            }
+            int separator = sample.lastIndexOf('=');
+            if (separator <= 0) {
+                addError("Sample must be given as logger=rate: " + sample);
+                continue;
+            }
+            try {
+                setRate(sample.substring(0, separator).trim(), Double.valueOf(sample.substring(separator + 1).trim()));
+            } catch (IllegalArgumentException ex) {
+                addError("Invalid sample " + sample + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sets the share of events below WARN kept for a logger and its children.
+     *
+     * @param loggerName the logger name, or ROOT for all loggers
+     * @param rate a share between 0 and 1, or null to remove the rate
+     * @throws IllegalArgumentException if the logger name is blank or the rate is out of range.
+     */
+    public void setRate(String loggerName, Double rate) {
+        if (loggerName == null || loggerName.isBlank()) {
+            throw new IllegalArgumentException("Logger name must not be blank");
+        }
+        if (rate == null) {
+            rates.remove(loggerName);
+        } else if (rate.isNaN() || rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Sampling rate must be between 0 and 1");
+        } else {
+            rates.put(loggerName, rate);
+        }
+        effectiveRates.clear();
+    }
+
+    /**
+     * Returns the configured rates by logger name.
+     */
+    public Map<String, Double> getRates() {
+        return new TreeMap<>(rates);
+    }
+
+    /**
+     * Returns the number of events discarded by sampling.
+     */
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    /*
+     * Finds the rate of the closest configured ancestor of a logger.
+     */
+    private double resolveRate(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Double rate = rates.get(name);
+            if (rate != null) {
+                return rate;
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return rates.getOrDefault(Logger.ROOT_LOGGER_NAME, KEEP_ALL);
+            }
+            name = name.substring(0, dot);
+        }
+    }
+}
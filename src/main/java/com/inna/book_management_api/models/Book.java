@@ -1,12 +1,23 @@
 package com.inna.book_management_api.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.inna.book_management_api.validation.YearNotInFuture;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.*;
 
+import java.util.Locale;
+
 import static com.inna.book_management_api.models.Constants.*;
 
 /**
@@ -15,9 +26,12 @@ import static com.inna.book_management_api.models.Constants.*;
  * Description: Entity class representing a book in the book management API.
  */
 @Entity
+@Table(indexes = @Index(name = "ux_book_title_author_key", columnList = "title_author_key", unique = true))
 public class Book {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence instead of IDENTITY, so Hibernate can batch inserts and hand out ids without a round trip per row
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -38,6 +52,16 @@ public class Book {
     @YearNotInFuture(message = "Published year cannot be in the future")
     private Integer publishedYear;
 
+    // optimistic lock version, also the basis of the book's ETag; managed by Hibernate only
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // normalized author+title, backed by a unique index so duplicate checks are a single indexed probe
+    @JsonIgnore
+    @Column(name = "title_author_key", nullable = false, length = MAX_AUTHOR_LENGTH + 1 + MAX_TITLE_LENGTH)
+    private String titleAuthorKey;
+
     // Constructors
     public Book() {
     }
@@ -80,4 +104,50 @@ public class Book {
     public void setPublishedYear(Integer publishedYear) {
         this.publishedYear = publishedYear;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getTitleAuthorKey() {
+        return titleAuthorKey;
+    }
+
+    /**
+     * Keeps the normalized duplicate-detection key in sync with title and author before every write.
+     */
+    @PrePersist
+    @PreUpdate
+    void updateTitleAuthorKey() {
+        this.titleAuthorKey = titleAuthorKey(title, author);
+    }
+
+    /**
+     * Builds the case-insensitive key used to detect duplicate books.
+     * The author goes first since it can never contain the separator (see AUTHOR_NAME_PATTERN).
+     *
+     * @param title  the book title
+     * @param author the book author
+     * @return the normalized key, or null if title or author is missing
+     */
+    public static String titleAuthorKey(String title, String author) {
+        if (title == null || author == null) {
+            return null;
+        }
+        return normalizeKeyPart(author) + TITLE_AUTHOR_KEY_SEPARATOR + normalizeKeyPart(title);
+    }
+
+    /**
+     * Normalizes a single part of the title/author key.
+     *
+     * @param value the raw title or author
+     * @return the trimmed, lower-cased value
+     */
+    public static String normalizeKeyPart(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
 }
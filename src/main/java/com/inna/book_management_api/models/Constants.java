@@ -12,4 +12,5 @@ public interface Constants {
     int MAX_AUTHOR_LENGTH = 50;
     String AUTHOR_NAME_PATTERN = "^[a-zA-Z\\s.-]+$";  // Allows letters, spaces, dots, and hyphens
     int MIN_PUBLISHED_YEAR = 1500;
+    String TITLE_AUTHOR_KEY_SEPARATOR = "|";
 }
@@ -1,9 +1,21 @@
 package com.inna.book_management_api.repositories;
 
 import com.inna.book_management_api.models.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
 /**
  * Author: Inna Eisenstark
  * Created: 2025-06-20
@@ -11,4 +23,44 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
+
+    // Point lookup on the unique title/author index.
+    // Declared as JPQL so Hibernate caches the query plan, derived queries are rebuilt through the Criteria API on every call.
+    @Query("SELECT COUNT(b) > 0 FROM Book b WHERE b.titleAuthorKey = :titleAuthorKey")
+    boolean existsByTitleAuthorKey(@Param("titleAuthorKey") String titleAuthorKey);
+
+    // Same lookup, ignoring the book being updated
+    @Query("SELECT COUNT(b) > 0 FROM Book b WHERE b.titleAuthorKey = :titleAuthorKey AND b.id <> :id")
+    boolean existsByTitleAuthorKeyAndIdNot(@Param("titleAuthorKey") String titleAuthorKey, @Param("id") Long id);
+
+    // Set-based duplicate lookup for batch inserts
+    @Query("SELECT b.titleAuthorKey FROM Book b WHERE b.titleAuthorKey IN :keys")
+    Set<String> findExistingTitleAuthorKeys(@Param("keys") Collection<String> keys);
+
+    // Multi-get by primary key; callers keep the IN list within IN_CLAUSE_CHUNK_SIZE
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids")
+    List<Book> findByIdIn(@Param("ids") Collection<Long> ids);
+
+    // First page / capped unpaged listing, in primary key order
+    @Query("SELECT b FROM Book b ORDER BY b.id")
+    List<Book> findAllByOrderByIdAsc(Limit limit);
+
+    // Keyset page: seeks on the primary key, so every page costs the same however deep it is
+    @Query("SELECT b FROM Book b WHERE b.id > :id ORDER BY b.id")
+    List<Book> findByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Limit limit);
+
+    // Single-statement delete, the row count tells whether the book existed
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.id = :id")
+    int deleteBookById(@Param("id") Long id);
+
+    // Forward-only cursor over the whole catalog for exports, must be consumed inside a transaction.
+    // The fetch size bounds how many rows the driver buffers at a time.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT b FROM Book b ORDER BY b.id")
+    Stream<Book> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,227 @@
+package com.inna.book_management_api.search;
+
+import com.inna.book_management_api.models.Book;
+import com.inna.book_management_api.repositories.BookRepository;
+import com.inna.book_management_api.services.BookChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: BookSearchIndex is an in-process inverted index over book titles and authors.
+ * Terms are case-folded words; each posting stores a weight where title matches count more than author matches.
+ * The index is rebuilt when the application is ready and updated incrementally through BookChangedEvent.
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 2;
+    private static final int AUTHOR_WEIGHT = 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (book id -> weight)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // book id -> (term -> weight), used to remove a book's postings when it changes
+    private final Map<Long, Map<String, Integer>> termsByBook = new HashMap<>();
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Rebuilds the index from the database once startup (including data initialization) has finished.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByBook.clear();
+            transaction.executeWithoutResult(status -> {
+                try (Stream<Book> books = bookRepository.streamAllByOrderByIdAsc()) {
+                    books.forEach(book -> add(book.getId(), book.getTitle(), book.getAuthor()));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Indexed {} books ({} terms) in {} ms",
+                termsByBook.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applies a committed book change to the index.
+     *
+     * @param event the change published by BookServiceImpl
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.getType() == BookChangedEvent.Type.DELETED) {
+            remove(event.getId());
+        } else {
+            index(event.getId(), event.getTitle(), event.getAuthor());
+        }
+    }
+
+    /**
+     * Adds or replaces the postings of a book.
+     */
+    public void index(Long id, String title, String author) {
+        lock.writeLock().lock();
+        try {
+            removeBook(id);
+            add(id, title, author);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all postings of a book.
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeBook(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed books.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termsByBook.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the best matching books for a free-text query.
+     * Only the postings of the query terms are visited. Each book scores the sum of its term weights
+     * times the term's inverse document frequency, scaled by the share of query terms it matches.
+     *
+     * @param query the free-text query
+     * @param limit the maximum number of ids to return
+     * @return matching book ids, best match first (ties by ascending id)
+     */
+    public List<Long> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Map<Long, double[]> scores = new HashMap<>(); // book id -> {score, matched terms}
+        lock.readLock().lock();
+        try {
+            int documentCount = termsByBook.size();
+            for (String term : terms) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (double) documentCount / termPostings.size());
+                termPostings.forEach((id, weight) -> {
+                    double[] score = scores.computeIfAbsent(id, key -> new double[2]);
+                    score[0] += weight * idf;
+                    score[1]++;
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(limit + 1, ranking);
+        scores.forEach((id, score) -> {
+            top.add(Map.entry(id, score[0] * score[1] / terms.size()));
+            if (top.size() > limit) {
+                top.poll(); // drop the current worst
+            }
+        });
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        return ids.reversed();
+    }
+
+    /**
+     * Splits text into case-folded terms.
+     *
+     * @param text the text to tokenize, may be null
+     * @return the terms, in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private void add(Long id, String title, String author) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : tokenize(title)) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(author)) {
+            weights.merge(term, AUTHOR_WEIGHT, Integer::sum);
+        }
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, weight));
+        termsByBook.put(id, weights);
+    }
+
+    private void removeBook(Long id) {
+        Map<String, Integer> weights = termsByBook.remove(id);
+        if (weights == null) {
+            return;
+        }
+        for (String term : weights.keySet()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
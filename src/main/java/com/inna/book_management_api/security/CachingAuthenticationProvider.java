@@ -0,0 +1,167 @@
+package com.inna.book_management_api.security;
+
+import org.springframework.security.authentication.AccountStatusException;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: AuthenticationProvider that remembers recently verified credentials, so HTTP Basic requests
+ * only pay for a BCrypt check the first time a username/password pair is seen.
+ * Entries are keyed by an HMAC of the credentials under a random per-process key, so the cache never holds
+ * a password. An entry is only used while the user's stored password hash is unchanged and the account
+ * is still enabled and unlocked, so changing or removing a user in the UserDetailsService invalidates it.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+    private final UserDetailsService userDetailsService;
+    private final UserDetailsChecker userDetailsChecker = new AccountStatusUserDetailsChecker();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Mac macPrototype;
+    private final Map<String, VerifiedCredentials> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate           the provider performing the full password check
+     * @param userDetailsService the source of the current user details
+     * @param ttl                how long verified credentials are trusted
+     * @param maxEntries         the maximum number of cached credentials
+     */
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, UserDetailsService userDetailsService,
+                                         Duration ttl, int maxEntries) {
+        this.delegate = delegate;
+        this.userDetailsService = userDetailsService;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        try {
+            macPrototype = Mac.getInstance(HMAC_ALGORITHM);
+            macPrototype.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+        String username = authentication.getName();
+        String key = cacheKey(username, authentication.getCredentials().toString());
+        VerifiedCredentials verified = cache.get(key);
+        if (verified != null) {
+            Authentication cached = authenticateFromCache(key, verified, authentication);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.getPrincipal() instanceof UserDetails user) {
+            store(key, new VerifiedCredentials(user.getPassword(), System.nanoTime() + ttlNanos));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    /**
+     * Forgets all verified credentials.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /*
+     * Authenticates against the current user details if the cached verification still holds, otherwise
+     * drops the entry and returns null so the full check runs.
+     */
+    private Authentication authenticateFromCache(String key, VerifiedCredentials verified, Authentication request) {
+        if (System.nanoTime() - verified.expiresAtNanos() >= 0) {
+            cache.remove(key, verified);
+            return null;
+        }
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(request.getName());
+            userDetailsChecker.check(user);
+        } catch (UsernameNotFoundException | AccountStatusException ex) {
+            cache.remove(key, verified);
+            return null;
+        }
+        if (!verified.passwordHash().equals(user.getPassword())) {
+            cache.remove(key, verified);
+            return null;
+        }
+        UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                user, request.getCredentials(), user.getAuthorities());
+        result.setDetails(request.getDetails());
+        return result;
+    }
+
+    private void store(String key, VerifiedCredentials verified) {
+        if (cache.size() >= maxEntries) {
+            evict();
+        }
+        cache.put(key, verified);
+    }
+
+    /*
+     * Drops expired entries, and if the cache is still full, arbitrary entries until there is room.
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        cache.values().removeIf(entry -> now - entry.expiresAtNanos() >= 0);
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private String cacheKey(String username, String password) {
+        Mac mac;
+        try {
+            mac = (Mac) macPrototype.clone();
+        } catch (CloneNotSupportedException ex) {
+            throw new IllegalStateException("HMAC-SHA256 cannot be cloned", ex);
+        }
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        // separator that cannot appear in the UTF-8 encoding of a username
+        mac.update((byte) 0xFF);
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private record VerifiedCredentials(String passwordHash, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.inna.book_management_api.services;
+
+import com.inna.book_management_api.models.Book;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: BookChangedEvent is published by BookServiceImpl whenever a book is written,
+ * so in-process read structures can stay in sync with the database.
+ * Listeners should use @TransactionalEventListener(fallbackExecution = true) to only see committed changes.
+ */
+public class BookChangedEvent {
+
+    public enum Type {
+        SAVED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long id;
+    private final String title;
+    private final String author;
+    private final Integer publishedYear;
+    private final Long version;
+
+    private BookChangedEvent(Type type, Long id, String title, String author, Integer publishedYear, Long version) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.publishedYear = publishedYear;
+        this.version = version;
+    }
+
+    /**
+     * Creates an event carrying a copy of the book's state, so later changes to the entity do not leak into it.
+     *
+     * @param book the book that was created or updated
+     * @return the event
+     */
+    public static BookChangedEvent saved(Book book) {
+        return new BookChangedEvent(Type.SAVED, book.getId(), book.getTitle(), book.getAuthor(),
+                book.getPublishedYear(), book.getVersion());
+    }
+
+    public static BookChangedEvent deleted(Long id) {
+        return new BookChangedEvent(Type.DELETED, id, null, null, null, null);
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public Integer getPublishedYear() {
+        return publishedYear;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -1,7 +1,13 @@
 package com.inna.book_management_api.services;
 
+import com.inna.book_management_api.dto.BookBatchResult;
+import com.inna.book_management_api.dto.BookBulkDeleteResult;
+import com.inna.book_management_api.dto.BookMultiGetResult;
+import com.inna.book_management_api.dto.BookPage;
+import com.inna.book_management_api.dto.BookPatch;
 import com.inna.book_management_api.models.Book;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Author: Inna Eisenstark
@@ -10,8 +16,16 @@ import java.util.List;
  */
 public interface BookService {
     List<Book> getAllBooks();
+    BookPage getBooksPage(String after, Integer limit);
     Book getBookById(Long id);
+    BookMultiGetResult getBooksByIds(List<Long> ids);
     Book createBook(Book book);
+    BookBatchResult createBooks(List<Book> books);
     Book updateBook(Long id, Book book);
+    Book updateBook(Long id, Book book, Long expectedVersion);
+    Book patchBook(Long id, BookPatch patch, Long expectedVersion);
     void deleteBook(Long id);
+    BookBulkDeleteResult deleteBooks(String author, Integer fromYear, Integer toYear);
+    void exportBooks(Consumer<Book> consumer);
+    List<Book> searchBooks(String query, Integer limit);
 }
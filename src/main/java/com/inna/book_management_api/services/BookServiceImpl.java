@@ -1,17 +1,61 @@
 package com.inna.book_management_api.services;
 
+import com.inna.book_management_api.catalog.BookCatalog;
+import com.inna.book_management_api.dto.BookBatchItemResult;
+import com.inna.book_management_api.dto.BookBatchResult;
+import com.inna.book_management_api.dto.BookBulkDeleteResult;
+import com.inna.book_management_api.dto.BookMultiGetResult;
+import com.inna.book_management_api.dto.BookPage;
+import com.inna.book_management_api.dto.BookPatch;
 import com.inna.book_management_api.exception.BookNotFoundException;
+import com.inna.book_management_api.exception.BookVersionConflictException;
 import com.inna.book_management_api.exception.DuplicateBookException;
 import com.inna.book_management_api.models.Book;
 import com.inna.book_management_api.repositories.BookRepository;
+import com.inna.book_management_api.search.BookSearchIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.inna.QueryConstants.IN_CLAUSE_CHUNK_SIZE;
+import static com.inna.book_management_api.models.Constants.AUTHOR_NAME_PATTERN;
+import static com.inna.book_management_api.models.Constants.TITLE_AUTHOR_KEY_SEPARATOR;
 
 /**
  * Author: Inna Eisenstark
@@ -23,26 +67,123 @@ public class BookServiceImpl implements BookService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookServiceImpl.class);
 
+    private static final String DUPLICATE_BOOK_MESSAGE = "A book with the same title and author already exists";
+    private static final String TITLE_AUTHOR_KEY_INDEX = "ux_book_title_author_key";
+
     @Autowired
     private BookRepository bookRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // optional in-memory read copy of the catalog, see books.catalog.in-memory.enabled
+    @Autowired(required = false)
+    private BookCatalog bookCatalog;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // reads served by the in-memory catalog vs. reads that went to the database
+    private Counter catalogHits;
+    private Counter catalogMisses;
+
+    @Value("${books.search.default-limit:20}")
+    private int defaultSearchLimit;
+
+    @Value("${books.search.max-limit:100}")
+    private int maxSearchLimit;
+
+    @Value("${books.page.default-limit:20}")
+    private int defaultPageLimit;
+
+    @Value("${books.page.max-limit:100}")
+    private int maxPageLimit;
+
+    @Value("${books.unpaged.max-results:1000}")
+    private int maxUnpagedResults;
+
+    @Value("${books.multi-get.max-ids:10000}")
+    private int maxMultiGetIds;
+
+    @Value("${books.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    @PostConstruct
+    void registerMetrics() {
+        if (bookCatalog == null) {
+            return; // no catalog, so no reads to tell apart
+        }
+        catalogHits = Counter.builder("books.catalog.reads").tag("result", "hit")
+                .description("Book reads served by the in-memory catalog")
+                .register(meterRegistry);
+        catalogMisses = Counter.builder("books.catalog.reads").tag("result", "miss")
+                .description("Book reads served by the database")
+                .register(meterRegistry);
+    }
+
     /**
-     * Retrieves all books from the database.
+     * Retrieves all books from the database, up to the configured hard cap.
      *
-     * @return
+     * @return List of all books
+     * @throws IllegalArgumentException if the catalog is larger than the cap, cursor pagination must be used instead.
      */
     @Override
     public List<Book> getAllBooks() {
         logger.debug("Retrieving all books from database");
-        List<Book> books = bookRepository.findAll();
+        // fetch one extra row to tell whether the catalog exceeds the cap without counting it
+        List<Book> books = findPage(null, maxUnpagedResults + 1);
         if (books.isEmpty()) {
             logger.warn("No books found in the database");
             throw new BookNotFoundException("No books found in the database");
         }
+        if (books.size() > maxUnpagedResults) {
+            logger.warn("Unpaged listing refused, catalog exceeds {} books", maxUnpagedResults);
+            throw new IllegalArgumentException("The catalog has more than " + maxUnpagedResults
+                    + " books, use cursor pagination (after/limit) instead");
+        }
         logger.debug("Retrieved {} books from database", books.size());
         return books;
     }
 
+    /**
+     * Retrieves a single page of books using keyset pagination on the book ID.
+     *
+     * @param after Opaque cursor returned with the previous page, or null for the first page.
+     * @param limit Maximum number of books on the page, or null for the default page size.
+     * @return The page of books, with a cursor for the next page if there is one.
+     * @throws IllegalArgumentException if the cursor is malformed or the limit is out of range.
+     */
+    @Override
+    public BookPage getBooksPage(String after, Integer limit) {
+        int pageSize = limit == null ? defaultPageLimit : limit;
+        if (pageSize < 1 || pageSize > maxPageLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageLimit);
+        }
+        // fetch one extra row to know whether there is a next page
+        Long afterId = after == null || after.isEmpty() ? null : BookPage.decodeCursor(after);
+        List<Book> books = findPage(afterId, pageSize + 1);
+
+        String nextCursor = null;
+        if (books.size() > pageSize) {
+            books = books.subList(0, pageSize);
+            nextCursor = BookPage.encodeCursor(books.get(pageSize - 1).getId());
+        }
+        logger.debug("Retrieved page of {} books after cursor {}", books.size(), after);
+        return new BookPage(books, nextCursor);
+    }
+
     /**
      * Retrieves a book by its ID.
      *
@@ -53,15 +194,64 @@ public class BookServiceImpl implements BookService {
     @Override
     public Book getBookById(Long id) {
         logger.debug("Attempting to retrieve book with id: {}", id);
-        if (id == null) {
+        requireId(id);
+        if (readFromCatalog()) {
+            return bookCatalog.get(id).orElseThrow(() -> bookNotFound(id));
+        }
+        return loadBook(id);
+    }
+
+    /**
+     * Retrieves many books by ID at once, with chunked IN queries instead of one lookup per ID.
+     * Missing books are reported rather than thrown, and an ID requested twice is only returned once.
+     *
+     * @param ids The IDs of the books to retrieve.
+     * @return The books found, in the order of the requested IDs, and the IDs that were not found.
+     * @throws IllegalArgumentException if the list is empty, larger than books.multi-get.max-ids or contains null.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BookMultiGetResult getBooksByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            logger.error("Book ID list cannot be empty");
+            throw new IllegalArgumentException("Book ID list cannot be empty");
+        }
+        if (ids.size() > maxMultiGetIds) {
+            logger.error("Multi-get of {} books exceeds the maximum of {}", ids.size(), maxMultiGetIds);
+            throw new IllegalArgumentException("Cannot fetch more than " + maxMultiGetIds + " books at once");
+        }
+        if (ids.contains(null)) {
             logger.error("Book ID cannot be null");
             throw new IllegalArgumentException("Book ID cannot be null");
         }
-        return bookRepository.findById(id)
-                .orElseThrow(() -> {
-                    logger.error("Book not found with id: {}", id);
-                    return new BookNotFoundException("Book not found with id: " + id);
-                });
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, Book> booksById = new HashMap<>(requested.size() * 2);
+        if (readFromCatalog()) {
+            for (Long id : requested) {
+                bookCatalog.get(id).ifPresent(book -> booksById.put(id, book));
+            }
+        } else {
+            List<Long> distinct = new ArrayList<>(requested);
+            for (int from = 0; from < distinct.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+                List<Long> chunk = distinct.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinct.size()));
+                for (Book book : bookRepository.findByIdIn(chunk)) {
+                    booksById.put(book.getId(), book);
+                }
+            }
+        }
+
+        List<Book> books = new ArrayList<>(booksById.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            Book book = booksById.get(id);
+            if (book != null) {
+                books.add(book);
+            } else {
+                missing.add(id);
+            }
+        }
+        logger.debug("Multi-get of {} books found {}, {} missing", requested.size(), books.size(), missing.size());
+        return new BookMultiGetResult(books, missing);
     }
 
     /**
@@ -75,11 +265,78 @@ public class BookServiceImpl implements BookService {
         logger.debug("Creating new book: {}", book);
         validateBook(book);
         checkDuplicateBook(book);
-        Book savedBook = bookRepository.save(book);
+        book.setId(null); // ids are always generated, a client-supplied one would make JPA merge instead of insert
+        Book savedBook = saveAndFlush(book);
+        eventPublisher.publishEvent(BookChangedEvent.saved(savedBook));
         logger.info("Successfully created book with id: {}", savedBook.getId());
         return savedBook;
     }
 
+    /**
+     * Creates many books in one transaction.
+     * Books are validated and de-duplicated within the batch, checked against the database with a
+     * set-based lookup, and the remaining ones are inserted through batched JDBC statements.
+     *
+     * @param books The books to create.
+     * @return The per-book outcome, in the order the books were submitted.
+     * @throws IllegalArgumentException if the batch is empty or larger than the configured maximum.
+     * @throws DuplicateBookException   if a concurrent insert creates one of the books first.
+     */
+    @Override
+    @Transactional
+    public BookBatchResult createBooks(List<Book> books) {
+        if (books == null || books.isEmpty()) {
+            logger.error("Book batch cannot be empty");
+            throw new IllegalArgumentException("Book batch cannot be empty");
+        }
+        if (books.size() > maxBatchSize) {
+            logger.error("Book batch of {} exceeds the maximum of {}", books.size(), maxBatchSize);
+            throw new IllegalArgumentException("Book batch cannot contain more than " + maxBatchSize + " books");
+        }
+        long start = System.nanoTime();
+        BookBatchItemResult[] results = new BookBatchItemResult[books.size()];
+
+        // validate, and keep the first occurrence of each title/author within the batch
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < books.size(); i++) {
+            Book book = books.get(i);
+            List<String> errors = validationErrors(book);
+            if (!errors.isEmpty()) {
+                results[i] = BookBatchItemResult.invalid(i, errors);
+                continue;
+            }
+            Integer first = candidates.putIfAbsent(Book.titleAuthorKey(book.getTitle(), book.getAuthor()), i);
+            if (first != null) {
+                results[i] = BookBatchItemResult.duplicate(i, "Duplicate of the book at index " + first + " in this batch");
+            }
+        }
+
+        Set<String> existingKeys = findExistingTitleAuthorKeys(candidates.keySet());
+        int pending = 0;
+        for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+            int index = candidate.getValue();
+            if (existingKeys.contains(candidate.getKey())) {
+                results[index] = BookBatchItemResult.duplicate(index, DUPLICATE_BOOK_MESSAGE);
+                continue;
+            }
+            Book book = books.get(index);
+            book.setId(null); // ids are always generated
+            entityManager.persist(book);
+            results[index] = BookBatchItemResult.created(index, book.getId());
+            eventPublisher.publishEvent(BookChangedEvent.saved(book));
+            if (++pending % jdbcBatchSize == 0) {
+                flushAndClear();
+            }
+        }
+        flushAndClear();
+
+        BookBatchResult result = new BookBatchResult(Arrays.asList(results));
+        logger.info("Batch insert of {} books: {} created, {} duplicates, {} invalid in {} ms",
+                books.size(), result.getCreated(), result.getDuplicates(), result.getInvalid(),
+                (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
     /**
      * Updates an existing book in the database.
      *
@@ -90,37 +347,320 @@ public class BookServiceImpl implements BookService {
      */
     @Override
     public Book updateBook(Long id, @Valid Book bookDetails) {
+        return updateBook(id, bookDetails, null);
+    }
+
+    /**
+     * Updates an existing book only if it is still at the expected version (compare-and-set).
+     * The version is checked again by the UPDATE statement itself, so a concurrent change
+     * between the read and the write is detected as well.
+     *
+     * @param id              The ID of the book to update.
+     * @param bookDetails     The details to update the book with.
+     * @param expectedVersion The version the client last saw, or null for an unconditional update.
+     * @return The updated book.
+     * @throws BookNotFoundException        if no book is found with the given ID.
+     * @throws BookVersionConflictException if the book is no longer at the expected version.
+     */
+    @Override
+    public Book updateBook(Long id, @Valid Book bookDetails, Long expectedVersion) {
         logger.debug("Updating book with id: {}", id);
-        Book existingBook = getBookById(id);
+        requireId(id);
+        Book existingBook = loadBook(id);
+        if (expectedVersion != null && !expectedVersion.equals(existingBook.getVersion())) {
+            logger.warn("Book {} is at version {}, expected {}", id, existingBook.getVersion(), expectedVersion);
+            throw new BookVersionConflictException("Book with id " + id + " has been modified since version " + expectedVersion);
+        }
         validateBook(bookDetails);
 
         // Check if update would create a duplicate, excluding the current book
         if (isDuplicateBookExcludingId(bookDetails, id)) {
             logger.error("Duplicate book found during update");
-            throw new DuplicateBookException("A book with the same title and author already exists");
+            throw new DuplicateBookException(DUPLICATE_BOOK_MESSAGE);
         }
 
         updateBookFields(existingBook, bookDetails);
-        Book updatedBook = bookRepository.save(existingBook);
+        Book updatedBook;
+        try {
+            updatedBook = saveAndFlush(existingBook);
+        } catch (OptimisticLockingFailureException ex) {
+            if (expectedVersion == null) {
+                throw ex;
+            }
+            throw new BookVersionConflictException("Book with id " + id + " has been modified since version " + expectedVersion);
+        }
+        eventPublisher.publishEvent(BookChangedEvent.saved(updatedBook));
         logger.info("Successfully updated book with id: {}", id);
         return updatedBook;
     }
 
     /**
-     * Deletes a book by its ID.
+     * Changes only the given fields of a book, in a single conditional UPDATE that also returns the updated row
+     * (H2's FINAL TABLE), so the whole call is one database round trip. The title/author key is rebuilt from
+     * the stored key when only one of the two changes, which is exact since the author never contains the separator.
+     *
+     * @param id              The ID of the book to update.
+     * @param patch           The fields to change.
+     * @param expectedVersion The version the client last saw, or null for an unconditional update.
+     * @return The updated book.
+     * @throws IllegalArgumentException     if the ID is null or the patch changes nothing.
+     * @throws BookNotFoundException        if no book is found with the given ID.
+     * @throws BookVersionConflictException if the book is no longer at the expected version.
+     * @throws DuplicateBookException       if the change would duplicate another book's title and author.
+     */
+    @Override
+    @Transactional
+    public Book patchBook(Long id, BookPatch patch, Long expectedVersion) {
+        logger.debug("Patching book with id: {}", id);
+        requireId(id);
+        if (patch == null || patch.isEmpty()) {
+            logger.error("Book patch cannot be empty");
+            throw new IllegalArgumentException("Book patch must change at least one field");
+        }
+        List<Object> parameters = new ArrayList<>();
+        StringJoiner assignments = new StringJoiner(", ");
+        if (patch.getTitle() != null) {
+            assignments.add("title = " + parameter(parameters, patch.getTitle()));
+        }
+        if (patch.getAuthor() != null) {
+            assignments.add("author = " + parameter(parameters, patch.getAuthor()));
+        }
+        if (patch.getPublishedYear() != null) {
+            assignments.add("published_year = " + parameter(parameters, patch.getPublishedYear()));
+        }
+        if (patch.getTitle() != null && patch.getAuthor() != null) {
+            assignments.add("title_author_key = "
+                    + parameter(parameters, Book.titleAuthorKey(patch.getTitle(), patch.getAuthor())));
+        } else if (patch.getTitle() != null) {
+            // keep the author part, up to and including the separator
+            assignments.add("title_author_key = CONCAT(LEFT(title_author_key, LOCATE("
+                    + parameter(parameters, TITLE_AUTHOR_KEY_SEPARATOR) + ", title_author_key)), "
+                    + parameter(parameters, Book.normalizeKeyPart(patch.getTitle())) + ")");
+        } else if (patch.getAuthor() != null) {
+            // keep the title part, from the separator on
+            assignments.add("title_author_key = CONCAT("
+                    + parameter(parameters, Book.normalizeKeyPart(patch.getAuthor())) + ", SUBSTRING(title_author_key, LOCATE("
+                    + parameter(parameters, TITLE_AUTHOR_KEY_SEPARATOR) + ", title_author_key)))");
+        }
+        assignments.add("version = version + 1");
+        String condition = "id = " + parameter(parameters, id);
+        if (expectedVersion != null) {
+            condition += " AND version = " + parameter(parameters, expectedVersion);
+        }
+
+        Query update = entityManager.createNativeQuery(
+                "SELECT * FROM FINAL TABLE (UPDATE book SET " + assignments + " WHERE " + condition + ")", Book.class);
+        for (int i = 0; i < parameters.size(); i++) {
+            update.setParameter(i + 1, parameters.get(i));
+        }
+        List<?> updated;
+        try {
+            updated = update.getResultList();
+        } catch (PersistenceException ex) {
+            if (isTitleAuthorKeyViolation(ex)) {
+                logger.warn("Duplicate book rejected by unique index during patch of book {}", id);
+                throw new DuplicateBookException(DUPLICATE_BOOK_MESSAGE);
+            }
+            throw ex;
+        }
+        if (updated.isEmpty()) {
+            // only a failed conditional update needs a second look, to tell a conflict from a missing book
+            if (expectedVersion != null && bookRepository.existsById(id)) {
+                logger.warn("Book {} is no longer at version {}", id, expectedVersion);
+                throw new BookVersionConflictException("Book with id " + id + " has been modified since version " + expectedVersion);
+            }
+            throw bookNotFound(id);
+        }
+        Book book = (Book) updated.get(0);
+        eventPublisher.publishEvent(BookChangedEvent.saved(book));
+        logger.info("Successfully patched book with id: {}", id);
+        return book;
+    }
+
+    /**
+     * Deletes a book by its ID with a single DELETE statement; its row count tells whether the book existed.
      *
      * @param id The ID of the book to delete.
      * @throws IllegalArgumentException if the ID is null.
      * @throws BookNotFoundException    if no book is found with the given ID.
      */
     @Override
+    @Transactional
     public void deleteBook(Long id) {
         logger.debug("Deleting book with id: {}", id);
-        Book book = getBookById(id);
-        bookRepository.delete(book);
+        requireId(id);
+        if (bookRepository.deleteBookById(id) == 0) {
+            throw bookNotFound(id);
+        }
+        eventPublisher.publishEvent(BookChangedEvent.deleted(id));
         logger.info("Successfully deleted book with id: {}", id);
     }
 
+    /**
+     * Deletes every book matching the filters with a single DELETE statement, which also returns the deleted
+     * ids (H2's OLD TABLE) so in-memory copies of the catalog can drop them.
+     *
+     * @param author   Only books by this author (ignoring case and surrounding spaces), or null for any author.
+     * @param fromYear Only books published in or after this year, or null.
+     * @param toYear   Only books published in or before this year, or null.
+     * @return How many books were deleted.
+     * @throws IllegalArgumentException if no filter is given, the author is not a valid author name
+     *                                  or the year range is empty.
+     */
+    @Override
+    @Transactional
+    public BookBulkDeleteResult deleteBooks(String author, Integer fromYear, Integer toYear) {
+        logger.debug("Deleting books by author: {}, published from {} to {}", author, fromYear, toYear);
+        boolean byAuthor = author != null && !author.isBlank();
+        if (!byAuthor && fromYear == null && toYear == null) {
+            logger.error("Bulk delete without a filter refused");
+            throw new IllegalArgumentException("At least one filter (author, fromYear, toYear) is required");
+        }
+        if (fromYear != null && toYear != null && fromYear > toYear) {
+            throw new IllegalArgumentException("fromYear cannot be after toYear");
+        }
+        List<Object> parameters = new ArrayList<>();
+        StringJoiner conditions = new StringJoiner(" AND ");
+        if (byAuthor) {
+            // the pattern rules out LIKE wildcards; the prefix of the key is served by its unique index
+            if (!author.matches(AUTHOR_NAME_PATTERN)) {
+                throw new IllegalArgumentException("Author name can only contain letters, spaces, dots, and hyphens");
+            }
+            conditions.add("title_author_key LIKE "
+                    + parameter(parameters, Book.normalizeKeyPart(author) + TITLE_AUTHOR_KEY_SEPARATOR + "%"));
+        }
+        if (fromYear != null) {
+            conditions.add("published_year >= " + parameter(parameters, fromYear));
+        }
+        if (toYear != null) {
+            conditions.add("published_year <= " + parameter(parameters, toYear));
+        }
+
+        Query delete = entityManager.createNativeQuery("SELECT id FROM OLD TABLE (DELETE FROM book WHERE " + conditions + ")");
+        for (int i = 0; i < parameters.size(); i++) {
+            delete.setParameter(i + 1, parameters.get(i));
+        }
+        List<?> ids = delete.getResultList();
+        for (Object id : ids) {
+            eventPublisher.publishEvent(BookChangedEvent.deleted(((Number) id).longValue()));
+        }
+        logger.info("Bulk delete removed {} books", ids.size());
+        return new BookBulkDeleteResult(ids.size());
+    }
+
+    /**
+     * Streams every book in ID order to the consumer through a forward-only database cursor.
+     * Each book is detached once consumed, so memory use does not grow with the catalog size.
+     *
+     * @param consumer Receives the books one at a time.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBooks(Consumer<Book> consumer) {
+        logger.debug("Exporting all books");
+        long count = 0;
+        try (Stream<Book> books = bookRepository.streamAllByOrderByIdAsc()) {
+            for (Book book : (Iterable<Book>) books::iterator) {
+                consumer.accept(book);
+                entityManager.detach(book);
+                count++;
+            }
+        }
+        logger.info("Exported {} books", count);
+    }
+
+    /*
+     * Loads the managed book entity from the database, bypassing the in-memory catalog.
+     *
+     * @param id The ID of the book to load.
+     * @return The book entity.
+     * @throws BookNotFoundException if no book is found with the given ID.
+     */
+    private Book loadBook(Long id) {
+        return bookRepository.findById(id).orElseThrow(() -> bookNotFound(id));
+    }
+
+    /*
+     * Adds a value to the parameters of a native statement and returns its ordinal placeholder.
+     */
+    private static String parameter(List<Object> parameters, Object value) {
+        parameters.add(value);
+        return "?" + parameters.size();
+    }
+
+    private void requireId(Long id) {
+        if (id == null) {
+            logger.error("Book ID cannot be null");
+            throw new IllegalArgumentException("Book ID cannot be null");
+        }
+    }
+
+    private BookNotFoundException bookNotFound(Long id) {
+        logger.error("Book not found with id: {}", id);
+        return new BookNotFoundException("Book not found with id: " + id);
+    }
+
+    /*
+     * Reads books in ID order after the given ID, from the in-memory catalog when it is loaded.
+     *
+     * @param afterId Only books with a larger ID are returned, or null to start at the first book.
+     * @param limit The maximum number of books to return.
+     * @return The books, in ID order.
+     */
+    private List<Book> findPage(Long afterId, int limit) {
+        if (readFromCatalog()) {
+            return bookCatalog.findPage(afterId, limit);
+        }
+        return afterId == null
+                ? bookRepository.findAllByOrderByIdAsc(Limit.of(limit))
+                : bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+
+    /*
+     * Tells whether a read can be served by the in-memory catalog, counting it as a catalog hit or miss
+     * when the catalog is enabled.
+     */
+    private boolean readFromCatalog() {
+        if (bookCatalog == null) {
+            return false;
+        }
+        boolean ready = bookCatalog.isReady();
+        (ready ? catalogHits : catalogMisses).increment();
+        return ready;
+    }
+
+    /**
+     * Searches book titles and authors for the words in the query, best matches first.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of books to return, or null for the default.
+     * @return The matching books, ranked by relevance.
+     * @throws IllegalArgumentException if the query is blank or the limit is out of range.
+     */
+    @Override
+    public List<Book> searchBooks(String query, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            logger.error("Search query cannot be null or empty");
+            throw new IllegalArgumentException("Search query cannot be null or empty");
+        }
+        int resultLimit = limit == null ? defaultSearchLimit : limit;
+        if (resultLimit < 1 || resultLimit > maxSearchLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxSearchLimit);
+        }
+        List<Long> ids = bookSearchIndex.search(query, resultLimit);
+        logger.debug("Search for '{}' matched {} books", query, ids.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (readFromCatalog()) {
+            return ids.stream().map(bookCatalog::get).flatMap(Optional::stream).toList();
+        }
+        // keep the ranking order, skipping books deleted since the search
+        Map<Long, Book> booksById = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream().map(booksById::get).filter(Objects::nonNull).toList();
+    }
+
     /**
      * Validates the book object to ensure it meets the required criteria.
      *
@@ -148,20 +688,15 @@ public class BookServiceImpl implements BookService {
 
     /*
      * Checks if a book with the same title and author already exists in the database.
+     * Uses a single probe on the unique title/author index instead of scanning the table.
      *
      * @param book The book to check for duplicates.
      * @throws DuplicateBookException if a duplicate book is found.
      */
     private void checkDuplicateBook(Book book) {
         logger.debug("Checking for duplicate book: {}", book);
-        List<Book> existingBooks = bookRepository.findAll();
-        boolean isDuplicate = existingBooks.stream()
-                .anyMatch(existingBook ->
-                        existingBook.getTitle().equalsIgnoreCase(book.getTitle()) &&
-                                existingBook.getAuthor().equalsIgnoreCase(book.getAuthor()));
-
-        if (isDuplicate) {
-            throw new DuplicateBookException("A book with the same title and author already exists");
+        if (bookRepository.existsByTitleAuthorKey(Book.titleAuthorKey(book.getTitle(), book.getAuthor()))) {
+            throw new DuplicateBookException(DUPLICATE_BOOK_MESSAGE);
         }
     }
 
@@ -174,12 +709,89 @@ public class BookServiceImpl implements BookService {
      * @return true if a duplicate exists, false otherwise.
      */
     private boolean isDuplicateBookExcludingId(Book book, Long excludeId) {
-        List<Book> existingBooks = bookRepository.findAll();
-        return existingBooks.stream()
-                .anyMatch(existingBook ->
-                        !Objects.equals(existingBook.getId(), excludeId) &&
-                                existingBook.getTitle().equalsIgnoreCase(book.getTitle()) &&
-                                existingBook.getAuthor().equalsIgnoreCase(book.getAuthor()));
+        return bookRepository.existsByTitleAuthorKeyAndIdNot(
+                Book.titleAuthorKey(book.getTitle(), book.getAuthor()), excludeId);
+    }
+
+    /*
+     * Saves and flushes the book so that a concurrent insert that slipped past the duplicate check
+     * is caught by the unique index here and reported as a duplicate.
+     *
+     * @param book The book to save.
+     * @return The saved book.
+     * @throws DuplicateBookException if the unique title/author index rejects the write.
+     */
+    private Book saveAndFlush(Book book) {
+        try {
+            return bookRepository.saveAndFlush(book);
+        } catch (DataIntegrityViolationException ex) {
+            if (isTitleAuthorKeyViolation(ex)) {
+                logger.warn("Duplicate book rejected by unique index: {}", ex.getMostSpecificCause().getMessage());
+                throw new DuplicateBookException(DUPLICATE_BOOK_MESSAGE);
+            }
+            throw ex;
+        }
+    }
+
+    /*
+     * Sends the pending batched inserts to the database and detaches them, so a large batch
+     * does not keep every inserted book in the persistence context.
+     *
+     * @throws DuplicateBookException if the unique title/author index rejects one of the inserts.
+     */
+    private void flushAndClear() {
+        try {
+            entityManager.flush();
+        } catch (PersistenceException ex) {
+            if (isTitleAuthorKeyViolation(ex)) {
+                logger.warn("Duplicate book rejected by unique index during batch insert");
+                throw new DuplicateBookException(DUPLICATE_BOOK_MESSAGE);
+            }
+            throw ex;
+        }
+        entityManager.clear();
+    }
+
+    private boolean isTitleAuthorKeyViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException cve && cve.getConstraintName() != null) {
+                return cve.getConstraintName().toLowerCase(Locale.ROOT).contains(TITLE_AUTHOR_KEY_INDEX);
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Looks up which of the given title/author keys already exist, in chunks of IN_CLAUSE_CHUNK_SIZE.
+     *
+     * @param keys The keys to look up.
+     * @return The keys that already exist in the database.
+     */
+    private Set<String> findExistingTitleAuthorKeys(Set<String> keys) {
+        Set<String> existing = new HashSet<>();
+        List<String> allKeys = new ArrayList<>(keys);
+        for (int from = 0; from < allKeys.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<String> chunk = allKeys.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, allKeys.size()));
+            existing.addAll(bookRepository.findExistingTitleAuthorKeys(chunk));
+        }
+        return existing;
+    }
+
+    /*
+     * Runs bean validation on a book submitted as part of a batch.
+     *
+     * @param book The book to validate.
+     * @return The validation errors, empty if the book is valid.
+     */
+    private List<String> validationErrors(Book book) {
+        if (book == null) {
+            return List.of("Book cannot be null");
+        }
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<Book> violation : validator.validate(book)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
     }
 
     private void updateBookFields(Book existingBook, Book bookDetails) {
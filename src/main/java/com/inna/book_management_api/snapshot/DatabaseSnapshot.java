@@ -0,0 +1,336 @@
+package com.inna.book_management_api.snapshot;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Saves books, users and orders to a binary snapshot file and restores them at startup, so the
+ * in-memory database does not lose its data on restart. The file holds the tables one after the other, one row
+ * after the other, and ends with a CRC32. It is written to a temporary file and renamed, so a crash during a save
+ * never leaves a partial snapshot. On restore the file is memory-mapped and the rows are inserted with JDBC batches
+ * in one transaction, before the sample data seeders run (they skip non-empty tables).
+ */
+@Component
+@DependsOn("entityManagerFactory") // the tables are created by Hibernate
+public class DatabaseSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseSnapshot.class);
+
+    private static final int MAGIC = 0x424D5331; // "BMS1"
+    // bump when a table or column is added, older snapshots are then refused
+    private static final int FORMAT_VERSION = 1;
+    private static final int ROW = 1;
+    private static final int END_OF_TABLE = 0;
+    private static final int INSERT_BATCH_SIZE = 1000;
+    // allocationSize of the book, user and order id sequences
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String SELECT_BOOKS =
+            "SELECT id, title, author, published_year, version, title_author_key FROM book ORDER BY id";
+    private static final String INSERT_BOOK =
+            "INSERT INTO book (id, title, author, published_year, version, title_author_key) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_USERS =
+            "SELECT id, name, email, order_count, total_amount FROM users ORDER BY id";
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, name, email, order_count, total_amount) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_ORDERS =
+            "SELECT id, order_number, amount, order_date, user_id FROM orders ORDER BY id";
+    private static final String INSERT_ORDER =
+            "INSERT INTO orders (id, order_number, amount, order_date, user_id) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${snapshot.path:data/snapshot.bin}")
+    private Path path;
+
+    @Value("${snapshot.restore-on-startup:false}")
+    private boolean restoreOnStartup;
+
+    @Value("${snapshot.save-on-shutdown:false}")
+    private boolean saveOnShutdown;
+
+    private volatile SnapshotSummary lastSave;
+    private volatile SnapshotSummary lastRestore;
+    private volatile long readyMillis;
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet row, SnapshotOutput out) throws SQLException, IOException;
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+        Object[] read(SnapshotInput in) throws IOException;
+    }
+
+    /**
+     * Restores the snapshot file, if snapshot.restore-on-startup is set and the file exists.
+     *
+     * @throws IllegalStateException if the file cannot be read, so a damaged snapshot is not overwritten later.
+     */
+    @PostConstruct
+    void restoreOnStartup() {
+        if (!restoreOnStartup || !Files.exists(path)) {
+            return;
+        }
+        try {
+            restore(path);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not restore snapshot " + path + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Saves a snapshot when the application shuts down, if snapshot.save-on-shutdown is set.
+     * Runs before the DataSource is closed, since this bean depends on it.
+     */
+    @PreDestroy
+    void saveOnShutdown() {
+        if (!saveOnShutdown) {
+            return;
+        }
+        try {
+            save();
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Could not save snapshot {} on shutdown", path, ex);
+        }
+    }
+
+    /**
+     * Logs how long the application took to become ready, and how much of it was spent restoring the snapshot.
+     * Ordered last, so the in-memory structures loaded when the application is ready are included.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void reportReadiness() {
+        readyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        SnapshotSummary restored = lastRestore;
+        if (restored != null) {
+            logger.info("Ready {} ms after JVM start, restoring the snapshot took {} ms", readyMillis, restored.getDurationMillis());
+        } else {
+            logger.info("Ready {} ms after JVM start, no snapshot restored", readyMillis);
+        }
+    }
+
+    /**
+     * Writes all books, users and orders to the snapshot file, replacing the previous one.
+     * The tables are read in one serializable read-only transaction, so the snapshot is consistent.
+     *
+     * @return What was saved.
+     * @throws IOException if the file cannot be written.
+     */
+    public synchronized SnapshotSummary save() throws IOException {
+        long start = System.nanoTime();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        long[] rows;
+        try (SnapshotOutput out = new SnapshotOutput(temporary)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            rows = transaction.execute(status -> new long[]{
+                    dump(out, SELECT_BOOKS, (row, o) -> {
+                        o.writeLong(row.getLong("id"));
+                        o.writeString(row.getString("title"));
+                        o.writeString(row.getString("author"));
+                        o.writeNullableInt(row.getObject("published_year", Integer.class));
+                        o.writeNullableLong(row.getObject("version", Long.class));
+                        o.writeString(row.getString("title_author_key"));
+                    }),
+                    dump(out, SELECT_USERS, (row, o) -> {
+                        o.writeLong(row.getLong("id"));
+                        o.writeString(row.getString("name"));
+                        o.writeString(row.getString("email"));
+                        o.writeLong(row.getLong("order_count"));
+                        o.writeDecimal(row.getBigDecimal("total_amount"));
+                    }),
+                    dump(out, SELECT_ORDERS, (row, o) -> {
+                        o.writeLong(row.getLong("id"));
+                        o.writeString(row.getString("order_number"));
+                        o.writeDecimal(row.getBigDecimal("amount"));
+                        o.writeDateTime(row.getObject("order_date", LocalDateTime.class));
+                        o.writeNullableLong(row.getObject("user_id", Long.class));
+                    })
+            });
+            out.finish();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        SnapshotSummary summary = new SnapshotSummary(path.toString(), rows[0], rows[1], rows[2], Files.size(path),
+                (System.nanoTime() - start) / 1_000_000);
+        lastSave = summary;
+        logger.info("Saved snapshot {}: {}", path, summary);
+        return summary;
+    }
+
+    /**
+     * Loads a snapshot file into empty tables, and moves the id sequences past the restored ids.
+     *
+     * @param source The snapshot file.
+     * @return What was restored, or null if the tables were not empty.
+     * @throws IOException if the file cannot be read, is corrupt or was written by another format version.
+     */
+    public synchronized SnapshotSummary restore(Path source) throws IOException {
+        Long existingRows = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM book) + (SELECT COUNT(*) FROM users) + (SELECT COUNT(*) FROM orders)", Long.class);
+        if (existingRows != null && existingRows > 0) {
+            logger.warn("Not restoring snapshot {}, the database already holds {} rows", source, existingRows);
+            return null;
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot of " + size + " bytes is too large to map");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            SnapshotInput in = SnapshotInput.verified(mapped);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a snapshot file");
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Snapshot format " + version + " is not supported, expected " + FORMAT_VERSION);
+            }
+
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            long[] rows;
+            try {
+                rows = transaction.execute(status -> new long[]{
+                        load(in, INSERT_BOOK, "book_seq", i -> new Object[]{
+                                i.readLong(), i.readString(), i.readString(), i.readNullableInt(), i.readNullableLong(), i.readString()}),
+                        load(in, INSERT_USER, "user_seq", i -> new Object[]{
+                                i.readLong(), i.readString(), i.readString(), i.readLong(), i.readDecimal()}),
+                        load(in, INSERT_ORDER, "order_seq", i -> new Object[]{
+                                i.readLong(), i.readString(), i.readDecimal(), i.readDateTime(), i.readNullableLong()})
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+
+            SnapshotSummary summary = new SnapshotSummary(source.toString(), rows[0], rows[1], rows[2], size,
+                    (System.nanoTime() - start) / 1_000_000);
+            lastRestore = summary;
+            logger.info("Restored snapshot {}: {}", source, summary);
+            return summary;
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public SnapshotSummary getLastSave() {
+        return lastSave;
+    }
+
+    public SnapshotSummary getLastRestore() {
+        return lastRestore;
+    }
+
+    /**
+     * @return milliseconds from JVM start until the application was ready, 0 until then
+     */
+    public long getReadyMillis() {
+        return readyMillis;
+    }
+
+    /*
+     * Writes every row of a query, each preceded by a ROW marker, and an END_OF_TABLE marker.
+     */
+    private long dump(SnapshotOutput out, String sql, RowWriter writer) {
+        long[] count = {0};
+        jdbcTemplate.query(sql, row -> {
+            try {
+                out.writeByte(ROW);
+                writer.write(row, out);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            count[0]++;
+        });
+        try {
+            out.writeByte(END_OF_TABLE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return count[0];
+    }
+
+    /*
+     * Inserts the rows of one table in JDBC batches, then restarts its id sequence after the largest id,
+     * leaving room for the block of ids Hibernate takes from a pooled sequence.
+     */
+    private long load(SnapshotInput in, String sql, String sequence, RowReader reader) {
+        try {
+            List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+            long count = 0;
+            long maxId = 0;
+            int marker;
+            while ((marker = in.readByte()) == ROW) {
+                Object[] row = reader.read(in);
+                maxId = Math.max(maxId, (Long) row[0]);
+                batch.add(row);
+                if (batch.size() == INSERT_BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(sql, batch);
+                    batch.clear();
+                }
+                count++;
+            }
+            if (marker != END_OF_TABLE) {
+                throw new IOException("Unexpected marker " + marker + " in snapshot");
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, batch);
+            }
+            if (maxId > 0) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + ID_ALLOCATION_SIZE));
+            }
+            return count;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
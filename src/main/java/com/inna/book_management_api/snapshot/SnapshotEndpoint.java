@@ -0,0 +1,51 @@
+package com.inna.book_management_api.snapshot;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Actuator endpoint (/actuator/snapshot) showing the last snapshot save and restore,
+ * and saving a snapshot on demand with a POST.
+ */
+@Component
+@Endpoint(id = "snapshot")
+public class SnapshotEndpoint {
+
+    @Autowired
+    private DatabaseSnapshot databaseSnapshot;
+
+    /**
+     * Returns the snapshot file, the last save and restore, and how long startup took.
+     */
+    @ReadOperation
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("file", databaseSnapshot.getPath().toString());
+        snapshot.put("lastSave", databaseSnapshot.getLastSave());
+        snapshot.put("lastRestore", databaseSnapshot.getLastRestore());
+        snapshot.put("readyMillis", databaseSnapshot.getReadyMillis());
+        return snapshot;
+    }
+
+    /**
+     * Saves all books, users and orders to the snapshot file.
+     */
+    @WriteOperation
+    public SnapshotSummary save() {
+        try {
+            return databaseSnapshot.save();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.inna.book_management_api.snapshot;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Reads the values written by SnapshotOutput from a buffer, typically a memory-mapped snapshot file.
+ */
+final class SnapshotInput {
+
+    private static final int CHECKSUM_SIZE = Long.BYTES;
+
+    private final ByteBuffer buffer;
+
+    private SnapshotInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Verifies the checksum at the end of the buffer and returns a reader for the content before it.
+     *
+     * @throws IOException if the buffer is too short or the checksum does not match.
+     */
+    static SnapshotInput verified(ByteBuffer buffer) throws IOException {
+        int contentSize = buffer.remaining() - CHECKSUM_SIZE;
+        if (contentSize < 0) {
+            throw new IOException("Snapshot is truncated");
+        }
+        ByteBuffer content = buffer.slice(buffer.position(), contentSize);
+        CRC32 crc = new CRC32();
+        crc.update(content.duplicate());
+        if (crc.getValue() != buffer.getLong(buffer.position() + contentSize)) {
+            throw new IOException("Snapshot checksum does not match, the file is corrupt");
+        }
+        return new SnapshotInput(content);
+    }
+
+    byte readByte() throws IOException {
+        try {
+            return buffer.get();
+        } catch (BufferUnderflowException ex) {
+            throw truncated();
+        }
+    }
+
+    int readInt() throws IOException {
+        try {
+            return buffer.getInt();
+        } catch (BufferUnderflowException ex) {
+            throw truncated();
+        }
+    }
+
+    long readLong() throws IOException {
+        try {
+            return buffer.getLong();
+        } catch (BufferUnderflowException ex) {
+            throw truncated();
+        }
+    }
+
+    Integer readNullableInt() throws IOException {
+        return readByte() == 0 ? null : readInt();
+    }
+
+    Long readNullableLong() throws IOException {
+        return readByte() == 0 ? null : readLong();
+    }
+
+    String readString() throws IOException {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(readBytes(length), StandardCharsets.UTF_8);
+    }
+
+    BigDecimal readDecimal() throws IOException {
+        if (readByte() == 0) {
+            return null;
+        }
+        int scale = readInt();
+        byte[] unscaled = readBytes(readShort());
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    LocalDateTime readDateTime() throws IOException {
+        if (readByte() == 0) {
+            return null;
+        }
+        long seconds = readLong();
+        return LocalDateTime.ofEpochSecond(seconds, readInt(), ZoneOffset.UTC);
+    }
+
+    private short readShort() throws IOException {
+        try {
+            return buffer.getShort();
+        } catch (BufferUnderflowException ex) {
+            throw truncated();
+        }
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        if (length > buffer.remaining()) {
+            throw truncated();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static IOException truncated() {
+        return new IOException("Snapshot ends in the middle of a value");
+    }
+}
@@ -0,0 +1,116 @@
+package com.inna.book_management_api.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Writes the values of a snapshot file, big-endian, followed by a CRC32 of everything written.
+ * Nullable values are preceded by a presence flag; see SnapshotInput for the matching reader.
+ */
+final class SnapshotOutput implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream file;
+    private final CheckedOutputStream checked;
+    private final DataOutputStream out;
+
+    SnapshotOutput(Path path) throws IOException {
+        file = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+        checked = new CheckedOutputStream(file, new CRC32());
+        out = new DataOutputStream(checked);
+    }
+
+    void writeByte(int value) throws IOException {
+        out.writeByte(value);
+    }
+
+    void writeInt(int value) throws IOException {
+        out.writeInt(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        out.writeLong(value);
+    }
+
+    void writeNullableInt(Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    void writeNullableLong(Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    /**
+     * Writes a string as its UTF-8 length and bytes, or -1 for null.
+     */
+    void writeString(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Writes a decimal as its scale and the two's-complement bytes of its unscaled value.
+     */
+    void writeDecimal(BigDecimal value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            out.writeInt(value.scale());
+            out.writeShort(unscaled.length);
+            out.write(unscaled);
+        }
+    }
+
+    /**
+     * Writes a date-time as seconds and nanoseconds since the epoch, without a time zone.
+     */
+    void writeDateTime(LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    /**
+     * Appends the checksum of everything written so far. Nothing may be written afterwards.
+     */
+    void finish() throws IOException {
+        out.flush();
+        long crc = checked.getChecksum().getValue();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            file.write((int) (crc >>> shift));
+        }
+        file.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
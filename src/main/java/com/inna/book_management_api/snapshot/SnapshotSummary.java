@@ -0,0 +1,63 @@
+package com.inna.book_management_api.snapshot;
+
+import java.time.LocalDateTime;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: SnapshotSummary describes a completed snapshot save or restore.
+ */
+public class SnapshotSummary {
+    private final String file;
+    private final long books;
+    private final long users;
+    private final long orders;
+    private final long bytes;
+    private final long durationMillis;
+    private final LocalDateTime completedAt;
+
+    public SnapshotSummary(String file, long books, long users, long orders, long bytes, long durationMillis) {
+        this.file = file;
+        this.books = books;
+        this.users = users;
+        this.orders = orders;
+        this.bytes = bytes;
+        this.durationMillis = durationMillis;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public String getFile() {
+        return file;
+    }
+
+    public long getBooks() {
+        return books;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    @Override
+    public String toString() {
+        return books + " books, " + users + " users and " + orders + " orders (" + bytes + " bytes) in "
+                + durationMillis + " ms";
+    }
+}
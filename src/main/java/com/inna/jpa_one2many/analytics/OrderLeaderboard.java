@@ -0,0 +1,170 @@
+package com.inna.jpa_one2many.analytics;
+
+import com.inna.jpa_one2many.dto.UserOrderStatsDTO;
+import com.inna.jpa_one2many.repository.OrderRepository;
+import com.inna.jpa_one2many.service.OrderChangeGate;
+import com.inna.jpa_one2many.service.OrderChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: OrderLeaderboard ranks the users with orders by total order amount and by order count.
+ * Each ranking is a skip list sorted by the value, highest first, then by user id, so the top k users are
+ * the first k entries and a change moves one entry in O(log n). It is loaded by counting the orders table once
+ * the application is ready, not from the aggregates stored on each user, so drift in those cannot reach the
+ * rankings. It is then kept in sync through OrderChangedEvent. Orders written by bulk JPQL or SQL are not seen
+ * until the next start.
+ */
+@Component
+public class OrderLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderLeaderboard.class);
+
+    /**
+     * A user's position data: the number and total amount of its orders.
+     */
+    public record Standing(long userId, long orderCount, BigDecimal totalAmount) {
+    }
+
+    private static final Comparator<Standing> BY_TOTAL_AMOUNT =
+            Comparator.comparing(Standing::totalAmount, Comparator.reverseOrder()).thenComparingLong(Standing::userId);
+
+    private static final Comparator<Standing> BY_ORDER_COUNT =
+            Comparator.comparingLong(Standing::orderCount).reversed().thenComparingLong(Standing::userId);
+
+    // current standing of every user with orders; entries of the rankings are replaced while holding its bin lock
+    private final ConcurrentMap<Long, Standing> standings = new ConcurrentHashMap<>();
+    private final NavigableSet<Standing> byTotalAmount = new ConcurrentSkipListSet<>(BY_TOTAL_AMOUNT);
+    private final NavigableSet<Standing> byOrderCount = new ConcurrentSkipListSet<>(BY_ORDER_COUNT);
+
+    private volatile boolean ready;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderChangeGate orderChangeGate;
+
+    /**
+     * Counts the orders of every user once startup (including data initialization) has finished.
+     * Until then {@link #isReady()} is false and callers read from the database.
+     * Like RevenueRollup, the load runs behind the OrderChangeGate, so no order change commits between reading
+     * the orders and applying the events that follow.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        orderChangeGate.exclusively(() -> {
+            standings.clear();
+            byTotalAmount.clear();
+            byOrderCount.clear();
+            transaction.executeWithoutResult(status -> {
+                try (Stream<UserOrderStatsDTO> users = orderRepository.streamOrderStatsPerUser()) {
+                    users.forEach(user -> add(user.getUserId(), user.getOrderCount(), user.getTotalAmount()));
+                }
+            });
+            return null;
+        });
+        ready = true;
+        logger.info("Loaded {} users into the order leaderboard in {} ms",
+                standings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applies a committed order change to the rankings.
+     *
+     * @param event the change published for the order
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (event.getPreviousUserId() != null) {
+            add(event.getPreviousUserId(), -1, event.getPreviousAmount() == null ? BigDecimal.ZERO : event.getPreviousAmount().negate());
+        }
+        if (event.getUserId() != null) {
+            add(event.getUserId(), 1, event.getAmount() == null ? BigDecimal.ZERO : event.getAmount());
+        }
+    }
+
+    /**
+     * @return true once the initial load has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the users with the highest total order amount, ties broken by user id.
+     *
+     * @param k the number of users to return
+     * @return at most k standings, highest first
+     */
+    public List<Standing> topByTotalAmount(int k) {
+        return first(byTotalAmount, k);
+    }
+
+    /**
+     * Returns the users with the most orders, ties broken by user id.
+     *
+     * @param k the number of users to return
+     * @return at most k standings, highest first
+     */
+    public List<Standing> topByOrderCount(int k) {
+        return first(byOrderCount, k);
+    }
+
+    /*
+     * Adds orders to a user's standing, or removes them for negative values. A user whose last order
+     * went away leaves the rankings. A concurrent reader may miss the user while its entries are replaced.
+     */
+    void add(long userId, long orderCountDelta, BigDecimal totalAmountDelta) {
+        standings.compute(userId, (id, current) -> {
+            Standing updated = current == null
+                    ? new Standing(id, orderCountDelta, totalAmountDelta)
+                    : new Standing(id, current.orderCount() + orderCountDelta, current.totalAmount().add(totalAmountDelta));
+            if (current != null) {
+                byTotalAmount.remove(current);
+                byOrderCount.remove(current);
+            }
+            if (updated.orderCount() <= 0) {
+                return null;
+            }
+            byTotalAmount.add(updated);
+            byOrderCount.add(updated);
+            return updated;
+        });
+    }
+
+    private static List<Standing> first(NavigableSet<Standing> ranking, int k) {
+        List<Standing> top = new ArrayList<>(k);
+        Iterator<Standing> iterator = ranking.iterator();
+        while (top.size() < k && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+}
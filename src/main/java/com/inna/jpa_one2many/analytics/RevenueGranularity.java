@@ -0,0 +1,41 @@
+package com.inna.jpa_one2many.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Bucket sizes of the revenue rollup. Weeks are ISO weeks, starting on Monday.
+ */
+public enum RevenueGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * Returns the first day of the bucket containing the given day.
+     */
+    public LocalDate bucketStart(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Parses a granularity name, ignoring case.
+     *
+     * @throws IllegalArgumentException if the name is not day, week or month.
+     */
+    public static RevenueGranularity parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new IllegalArgumentException("Granularity must be one of day, week, month");
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.inna.jpa_one2many.analytics;
+
+import com.inna.jpa_one2many.dto.RevenueBucketDTO;
+import com.inna.jpa_one2many.dto.UserDailyRevenueDTO;
+import com.inna.jpa_one2many.repository.OrderRepository;
+import com.inna.jpa_one2many.service.OrderChangeGate;
+import com.inna.jpa_one2many.service.OrderChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: RevenueRollup keeps the number and total amount of orders per day, week and month, overall and per user.
+ * It is loaded from one GROUP BY over the orders table once the application is ready, and then kept in sync through
+ * OrderChangedEvent, so range queries read a handful of pre-aggregated buckets instead of scanning orders.
+ * Only buckets with orders are stored. Orders written by bulk JPQL or SQL are not seen until the next start.
+ */
+@Component
+public class RevenueRollup {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueRollup.class);
+
+    // same scale as the amount column, so totals print the same whatever the scale of the amounts added
+    private static final BigDecimal EMPTY_REVENUE = BigDecimal.ZERO.setScale(2);
+
+    // bucket start -> bucket, per granularity
+    private final Map<RevenueGranularity, ConcurrentNavigableMap<LocalDate, RevenueBucketDTO>> overall =
+            new EnumMap<>(RevenueGranularity.class);
+
+    // user id -> bucket start -> bucket, per granularity
+    private final Map<RevenueGranularity, ConcurrentMap<Long, ConcurrentNavigableMap<LocalDate, RevenueBucketDTO>>> byUser =
+            new EnumMap<>(RevenueGranularity.class);
+
+    private volatile boolean ready;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderChangeGate orderChangeGate;
+
+    public RevenueRollup() {
+        for (RevenueGranularity granularity : RevenueGranularity.values()) {
+            overall.put(granularity, new ConcurrentSkipListMap<>());
+            byUser.put(granularity, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Loads the daily totals of every user once startup (including data initialization) has finished.
+     * Until then {@link #isReady()} is false and callers read from the database.
+     * The load runs behind the OrderChangeGate: order changes committed before it are read from the database
+     * (their earlier events are cleared), changes committed after it arrive as events.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        LongAdder rows = new LongAdder();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        orderChangeGate.exclusively(() -> {
+            for (RevenueGranularity granularity : RevenueGranularity.values()) {
+                overall.get(granularity).clear();
+                byUser.get(granularity).clear();
+            }
+            transaction.executeWithoutResult(status -> {
+                try (Stream<UserDailyRevenueDTO> days = orderRepository.streamDailyRevenue()) {
+                    days.forEach(day -> {
+                        for (RevenueGranularity granularity : RevenueGranularity.values()) {
+                            add(granularity, day.getUserId(), granularity.bucketStart(day.getDay()),
+                                    day.getOrderCount(), day.getRevenue());
+                        }
+                        rows.increment();
+                    });
+                }
+            });
+            return null;
+        });
+        ready = true;
+        logger.info("Loaded {} user-days ({} days with orders) into the revenue rollup in {} ms",
+                rows.sum(), overall.get(RevenueGranularity.DAY).size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applies a committed order change to the rollup.
+     *
+     * @param event the change published for the order
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        apply(event.getPreviousUserId(), event.getPreviousOrderDate(), event.getPreviousAmount(),
+                event.getUserId(), event.getOrderDate(), event.getAmount());
+    }
+
+    /**
+     * @return true once the initial load has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the overall buckets overlapping a date range, oldest first.
+     *
+     * @param granularity the bucket size
+     * @param from        first day of the range, or null for no lower bound
+     * @param to          day after the range, or null for no upper bound
+     * @return the buckets with orders, each with the totals of the whole bucket
+     */
+    public List<RevenueBucketDTO> getRevenue(RevenueGranularity granularity, LocalDate from, LocalDate to) {
+        return range(overall.get(granularity), granularity, from, to);
+    }
+
+    /**
+     * Returns the buckets of one user overlapping a date range, oldest first.
+     *
+     * @param userId      the user
+     * @param granularity the bucket size
+     * @param from        first day of the range, or null for no lower bound
+     * @param to          day after the range, or null for no upper bound
+     * @return the buckets with orders of the user, each with the totals of the whole bucket
+     */
+    public List<RevenueBucketDTO> getUserRevenue(Long userId, RevenueGranularity granularity, LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, RevenueBucketDTO> buckets = byUser.get(granularity).get(userId);
+        return buckets == null ? List.of() : range(buckets, granularity, from, to);
+    }
+
+    /*
+     * Moves an order from its previous (user, date, amount) to its current one; either side is absent
+     * for inserts and deletes. An order that stays in the same bucket only changes the bucket's revenue.
+     */
+    void apply(Long previousUserId, LocalDateTime previousDate, BigDecimal previousAmount,
+               Long userId, LocalDateTime date, BigDecimal amount) {
+        BigDecimal removed = previousAmount == null ? BigDecimal.ZERO : previousAmount.negate();
+        BigDecimal added = amount == null ? BigDecimal.ZERO : amount;
+        for (RevenueGranularity granularity : RevenueGranularity.values()) {
+            LocalDate previousStart = previousDate == null ? null : granularity.bucketStart(previousDate.toLocalDate());
+            LocalDate start = date == null ? null : granularity.bucketStart(date.toLocalDate());
+            boolean sameBucket = previousStart != null && previousStart.equals(start);
+
+            if (sameBucket) {
+                addTo(overall.get(granularity), start, 0, added.add(removed));
+            } else {
+                if (previousStart != null) {
+                    addTo(overall.get(granularity), previousStart, -1, removed);
+                }
+                if (start != null) {
+                    addTo(overall.get(granularity), start, 1, added);
+                }
+            }
+
+            if (sameBucket && previousUserId != null && previousUserId.equals(userId)) {
+                addTo(userBuckets(granularity, userId), start, 0, added.add(removed));
+            } else {
+                if (previousStart != null && previousUserId != null) {
+                    addTo(userBuckets(granularity, previousUserId), previousStart, -1, removed);
+                }
+                if (start != null && userId != null) {
+                    addTo(userBuckets(granularity, userId), start, 1, added);
+                }
+            }
+        }
+    }
+
+    private void add(RevenueGranularity granularity, Long userId, LocalDate start, long orderCount, BigDecimal revenue) {
+        addTo(overall.get(granularity), start, orderCount, revenue);
+        if (userId != null) {
+            addTo(userBuckets(granularity, userId), start, orderCount, revenue);
+        }
+    }
+
+    private ConcurrentNavigableMap<LocalDate, RevenueBucketDTO> userBuckets(RevenueGranularity granularity, Long userId) {
+        return byUser.get(granularity).computeIfAbsent(userId, id -> new ConcurrentSkipListMap<>());
+    }
+
+    private static void addTo(ConcurrentNavigableMap<LocalDate, RevenueBucketDTO> buckets, LocalDate start,
+                              long orderCount, BigDecimal revenue) {
+        buckets.compute(start, (key, bucket) -> {
+            RevenueBucketDTO updated = (bucket == null ? new RevenueBucketDTO(key, 0, EMPTY_REVENUE) : bucket)
+                    .plus(orderCount, revenue);
+            // a bucket whose last order went away is dropped
+            return updated.getOrderCount() <= 0 ? null : updated;
+        });
+    }
+
+    private static List<RevenueBucketDTO> range(NavigableMap<LocalDate, RevenueBucketDTO> buckets,
+                                                RevenueGranularity granularity, LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, RevenueBucketDTO> view = buckets;
+        if (from != null) {
+            // include the bucket that contains the first day
+            view = view.tailMap(granularity.bucketStart(from), true);
+        }
+        if (to != null) {
+            view = view.headMap(to, false);
+        }
+        return new ArrayList<>(view.values());
+    }
+}
@@ -1,13 +1,20 @@
 package com.inna.jpa_one2many.controller;
 
+import com.inna.jpa_one2many.dto.OrderIngestItem;
+import com.inna.jpa_one2many.dto.OrderIngestResult;
+import com.inna.jpa_one2many.dto.RevenueBucketDTO;
+import com.inna.jpa_one2many.dto.UserOrderStatsDTO;
 import com.inna.jpa_one2many.dto.UserOrderSummaryDTO;
-import com.inna.jpa_one2many.entity.User;
-import com.inna.jpa_one2many.entity.Order;
+import com.inna.jpa_one2many.dto.OrderPage;
+import com.inna.jpa_one2many.service.OrderIngestionService;
 import com.inna.jpa_one2many.service.UserOrderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -19,16 +26,25 @@ import java.util.List;
 @RequestMapping("/one2many-example")
 public class UserOrderController {
 
+    // "more than three orders", the threshold these endpoints used before it became a parameter
+    private static final String DEFAULT_MIN_ORDERS = "4";
+
     @Autowired
     private UserOrderService userOrderService;
 
+    @Autowired
+    private OrderIngestionService orderIngestionService;
+
     /**
-     * Endpoint to get all users with more than three orders.
-     * @return List of users with more than three orders
+     * Endpoint to get the users with at least a given number of orders.
+     * @param minOrders Minimum number of orders, 4 by default
+     * @param includeOrders Whether to include each user's orders
+     * @return List of users with their order count and total amount
      */
     @GetMapping("/users/with-many-orders")
-    public ResponseEntity<List<User>> getUsersWithMoreThanThreeOrders() {
-        return ResponseEntity.ok(userOrderService.getUsersWithMoreThanThreeOrders());
+    public ResponseEntity<List<UserOrderStatsDTO>> getUsersWithManyOrders(@RequestParam(defaultValue = DEFAULT_MIN_ORDERS) long minOrders,
+                                                                          @RequestParam(defaultValue = "false") boolean includeOrders) {
+        return ResponseEntity.ok(userOrderService.getUsersWithMinOrders(minOrders, includeOrders));
     }
 
     /**
@@ -45,33 +61,105 @@ public class UserOrderController {
      * @return List of users with no orders
      */
     @GetMapping("/users/without-orders")
-    public ResponseEntity<List<User>> getUsersWithNoOrders() {
+    public ResponseEntity<List<UserOrderStatsDTO>> getUsersWithNoOrders() {
         return ResponseEntity.ok(userOrderService.getUsersWithNoOrders());
     }
 
     /**
-     * Endpoint to get all orders for a specific user.
+     * Endpoint to get the orders of a specific user, newest first, one page at a time.
      * @param userId The ID of the user whose orders are to be retrieved
-     * @return List of orders for the specified user
+     * @param after Cursor returned as nextCursor by the previous page, omitted for the first page
+     * @param limit Maximum number of orders on the page
+     * @param from Only orders placed at or after this time (ISO date-time)
+     * @param to Only orders placed before this time (ISO date-time)
+     * @return A page of orders for the specified user
      */
     @GetMapping("/users/{userId}/orders")
-    public ResponseEntity<List<Order>> getUserOrders(@PathVariable Long userId) {
-        return ResponseEntity.ok(userOrderService.getUserOrders(userId));
+    public ResponseEntity<OrderPage> getUserOrders(@PathVariable Long userId,
+                                                   @RequestParam(required = false) String after,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(userOrderService.getUserOrders(userId, after, limit, from, to));
+    }
+
+    /**
+     * Endpoint to get the users with the highest total order amount.
+     * @param k Number of users to return, 10 by default
+     * @return Users with their order count and total amount, highest total first
+     */
+    @GetMapping("/stats/top-spenders")
+    public ResponseEntity<List<UserOrderStatsDTO>> getTopSpenders(@RequestParam(required = false) Integer k) {
+        return ResponseEntity.ok(userOrderService.getTopSpenders(k));
+    }
+
+    /**
+     * Endpoint to get the users with the most orders.
+     * @param k Number of users to return, 10 by default
+     * @return Users with their order count and total amount, most orders first
+     */
+    @GetMapping("/stats/top-order-counts")
+    public ResponseEntity<List<UserOrderStatsDTO>> getTopByOrderCount(@RequestParam(required = false) Integer k) {
+        return ResponseEntity.ok(userOrderService.getTopByOrderCount(k));
+    }
+
+    /**
+     * Endpoint to get the number and total amount of orders per day, week or month.
+     * @param granularity day, week or month
+     * @param from First day of the range (ISO date), buckets containing it are included
+     * @param to Day after the range (ISO date)
+     * @return The buckets with orders, oldest first
+     */
+    @GetMapping("/stats/revenue")
+    public ResponseEntity<List<RevenueBucketDTO>> getRevenue(@RequestParam(defaultValue = "day") String granularity,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(userOrderService.getRevenue(null, granularity, from, to));
+    }
+
+    /**
+     * Endpoint to get the number and total amount of a user's orders per day, week or month.
+     * @param userId The ID of the user
+     * @param granularity day, week or month
+     * @param from First day of the range (ISO date), buckets containing it are included
+     * @param to Day after the range (ISO date)
+     * @return The buckets with orders of the user, oldest first
+     */
+    @GetMapping("/stats/revenue/users/{userId}")
+    public ResponseEntity<List<RevenueBucketDTO>> getUserRevenue(@PathVariable Long userId,
+                                                                 @RequestParam(defaultValue = "day") String granularity,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(userOrderService.getRevenue(userId, granularity, from, to));
+    }
+
+    /**
+     * Endpoint to insert many orders of existing users in a single request.
+     * Orders whose order number is already stored are reported as duplicates, so a failed batch can be sent again.
+     * @param orders The orders to insert
+     * @return The outcome for each submitted order
+     */
+    @PostMapping("/orders/batch")
+    public ResponseEntity<OrderIngestResult> ingestOrders(@RequestBody List<OrderIngestItem> orders) {
+        return ResponseEntity.ok(orderIngestionService.ingestOrders(orders));
     }
 
     // Adding Swagger documentation
     @io.swagger.v3.oas.annotations.Operation(
-            summary = "Get users with more than 3 orders",
-            description = "Returns a list of users who have placed more than three orders"
+            summary = "Get users with many orders",
+            description = "Returns the users who have placed at least minOrders orders (4 by default), with their order count and total amount"
     )
 
     /**
-     * Endpoint to get users with more than three orders.
-     * @return List of users with more than three orders
+     * Endpoint to get users with at least a given number of orders.
+     * @param minOrders Minimum number of orders, 4 by default
+     * @param includeOrders Whether to include each user's orders
+     * @return List of users with their order count and total amount
      */
     @GetMapping("/stats/power-users")
-    public ResponseEntity<List<User>> getPowerUsers() {
-        return ResponseEntity.ok(userOrderService.getUsersWithMoreThanThreeOrders());
+    public ResponseEntity<List<UserOrderStatsDTO>> getPowerUsers(@RequestParam(defaultValue = DEFAULT_MIN_ORDERS) long minOrders,
+                                                                 @RequestParam(defaultValue = "false") boolean includeOrders) {
+        return ResponseEntity.ok(userOrderService.getUsersWithMinOrders(minOrders, includeOrders));
     }
 
     // Adding Swagger documentation
@@ -0,0 +1,57 @@
+package com.inna.jpa_one2many.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: OrderDTO is a Data Transfer Object with the fields of an order, without its user.
+ */
+public class OrderDTO {
+    private Long id;
+    private Long userId;
+    private String orderNumber;
+    private BigDecimal amount;
+    private LocalDateTime orderDate;
+
+    public OrderDTO(Long id, Long userId, String orderNumber, BigDecimal amount, LocalDateTime orderDate) {
+        this.id = id;
+        this.userId = userId;
+        this.orderNumber = orderNumber;
+        this.amount = amount;
+        this.orderDate = orderDate;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderDTO{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", orderNumber='" + orderNumber + '\'' +
+                ", amount=" + amount +
+                ", orderDate=" + orderDate +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+package com.inna.jpa_one2many.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: OrderIngestItem is a single order submitted to the bulk ingestion endpoint, for an existing user.
+ */
+public class OrderIngestItem {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotBlank(message = "Order number is required")
+    @Size(max = 255, message = "Order number must be at most 255 characters")
+    private String orderNumber;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.00", message = "Amount cannot be negative")
+    private BigDecimal amount;
+
+    // the time of ingestion when omitted
+    private LocalDateTime orderDate;
+
+    public OrderIngestItem() {
+    }
+
+    public OrderIngestItem(Long userId, String orderNumber, BigDecimal amount, LocalDateTime orderDate) {
+        this.userId = userId;
+        this.orderNumber = orderNumber;
+        this.amount = amount;
+        this.orderDate = orderDate;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+}
@@ -0,0 +1,61 @@
+package com.inna.jpa_one2many.dto;
+
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: OrderIngestItemResult is the outcome for a single order of a bulk ingestion.
+ */
+public class OrderIngestItemResult {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    private final int index;
+    private final Status status;
+    private final Long id;
+    private final List<String> errors;
+
+    public OrderIngestItemResult(int index, Status status, Long id, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static OrderIngestItemResult created(int index, Long id) {
+        return new OrderIngestItemResult(index, Status.CREATED, id, List.of());
+    }
+
+    public static OrderIngestItemResult duplicate(int index, String reason) {
+        return new OrderIngestItemResult(index, Status.DUPLICATE, null, List.of(reason));
+    }
+
+    public static OrderIngestItemResult invalid(int index, List<String> errors) {
+        return new OrderIngestItemResult(index, Status.INVALID, null, errors);
+    }
+
+    // Getters
+    /**
+     * @return position of the order in the submitted batch
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
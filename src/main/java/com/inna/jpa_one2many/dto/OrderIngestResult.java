@@ -0,0 +1,43 @@
+package com.inna.jpa_one2many.dto;
+
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: OrderIngestResult summarizes the outcome of a bulk order ingestion, with one result per submitted order.
+ */
+public class OrderIngestResult {
+    private final int created;
+    private final int duplicates;
+    private final int invalid;
+    private final List<OrderIngestItemResult> items;
+
+    public OrderIngestResult(List<OrderIngestItemResult> items) {
+        this.items = items;
+        this.created = count(items, OrderIngestItemResult.Status.CREATED);
+        this.duplicates = count(items, OrderIngestItemResult.Status.DUPLICATE);
+        this.invalid = count(items, OrderIngestItemResult.Status.INVALID);
+    }
+
+    private static int count(List<OrderIngestItemResult> items, OrderIngestItemResult.Status status) {
+        return (int) items.stream().filter(item -> item.getStatus() == status).count();
+    }
+
+    // Getters
+    public int getCreated() {
+        return created;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public List<OrderIngestItemResult> getItems() {
+        return items;
+    }
+}
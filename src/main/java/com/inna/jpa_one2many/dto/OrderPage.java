@@ -0,0 +1,74 @@
+package com.inna.jpa_one2many.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: OrderPage is a single page of a user's orders, newest first, returned by keyset (cursor) pagination.
+ */
+public class OrderPage {
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private final List<OrderDTO> items;
+    private final String nextCursor;
+
+    public OrderPage(List<OrderDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<OrderDTO> getItems() {
+        return items;
+    }
+
+    /**
+     * @return opaque cursor to pass as {@code after} for the next page, or null on the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Encodes the position of the last order on a page into an opaque cursor.
+     *
+     * @param last the last order returned
+     * @return URL-safe cursor string
+     */
+    public static String encodeCursor(OrderDTO last) {
+        String position = last.getOrderDate() + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encodeCursor(OrderDTO)}.
+     *
+     * @param cursor the cursor sent by the client
+     * @return the order date and id after which the next page starts
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Cursor decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new Cursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.valueOf(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) { // also covers NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Position of the last order of a page.
+     */
+    public record Cursor(LocalDateTime orderDate, Long id) {
+    }
+}
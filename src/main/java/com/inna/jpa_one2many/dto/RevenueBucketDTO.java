@@ -0,0 +1,45 @@
+package com.inna.jpa_one2many.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: RevenueBucketDTO is the number and total amount of the orders placed in one day, week or month.
+ * Immutable, so the rollup can hand out its stored buckets directly.
+ */
+public class RevenueBucketDTO {
+    private final LocalDate start;
+    private final long orderCount;
+    private final BigDecimal revenue;
+
+    public RevenueBucketDTO(LocalDate start, long orderCount, BigDecimal revenue) {
+        this.start = start;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+    }
+
+    /**
+     * Returns a bucket with the given orders added, or removed for negative values.
+     */
+    public RevenueBucketDTO plus(long orderCountDelta, BigDecimal revenueDelta) {
+        return new RevenueBucketDTO(start, orderCount + orderCountDelta, revenue.add(revenueDelta));
+    }
+
+    // Getters
+    /**
+     * @return first day of the bucket
+     */
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+}
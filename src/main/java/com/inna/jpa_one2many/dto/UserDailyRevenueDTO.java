@@ -0,0 +1,40 @@
+package com.inna.jpa_one2many.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: UserDailyRevenueDTO is the number and total amount of one user's orders on one day.
+ */
+public class UserDailyRevenueDTO {
+    private final Long userId;
+    private final LocalDate day;
+    private final long orderCount;
+    private final BigDecimal revenue;
+
+    public UserDailyRevenueDTO(Long userId, LocalDate day, Long orderCount, BigDecimal revenue) {
+        this.userId = userId;
+        this.day = day;
+        this.orderCount = orderCount;
+        this.revenue = revenue == null ? BigDecimal.ZERO : revenue;
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+}
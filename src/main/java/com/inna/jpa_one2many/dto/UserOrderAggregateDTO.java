@@ -0,0 +1,54 @@
+package com.inna.jpa_one2many.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: UserOrderAggregateDTO compares the order aggregates stored on a user with the values computed from the orders table.
+ */
+public class UserOrderAggregateDTO {
+    private Long userId;
+    private long storedCount;
+    private BigDecimal storedAmount;
+    private long actualCount;
+    private BigDecimal actualAmount;
+
+    public UserOrderAggregateDTO(Long userId, Long storedCount, BigDecimal storedAmount, Long actualCount, BigDecimal actualAmount) {
+        this.userId = userId;
+        this.storedCount = storedCount;
+        this.storedAmount = storedAmount;
+        this.actualCount = actualCount;
+        this.actualAmount = actualAmount == null ? BigDecimal.ZERO : actualAmount;
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getStoredCount() {
+        return storedCount;
+    }
+
+    public BigDecimal getStoredAmount() {
+        return storedAmount;
+    }
+
+    public long getActualCount() {
+        return actualCount;
+    }
+
+    public BigDecimal getActualAmount() {
+        return actualAmount;
+    }
+
+    @Override
+    public String toString() {
+        return "UserOrderAggregateDTO{" +
+                "userId=" + userId +
+                ", stored=" + storedCount + "/" + storedAmount +
+                ", actual=" + actualCount + "/" + actualAmount +
+                '}';
+    }
+}
@@ -0,0 +1,75 @@
+package com.inna.jpa_one2many.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: UserOrderStatsDTO is a Data Transfer Object with a user's details and order statistics,
+ * optionally with the user's orders.
+ */
+public class UserOrderStatsDTO {
+    private Long userId;
+    private String name;
+    private String email;
+    private long orderCount;
+    private BigDecimal totalAmount;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<OrderDTO> orders; // only set when orders were requested
+
+    // used by the JPQL constructor expressions in UserRepository
+    public UserOrderStatsDTO(Long userId, String name, String email, Long orderCount, BigDecimal totalAmount) {
+        this.userId = userId;
+        this.name = name;
+        this.email = email;
+        this.orderCount = orderCount == null ? 0 : orderCount;
+        this.totalAmount = totalAmount == null ? BigDecimal.ZERO : totalAmount;
+    }
+
+    // for users without orders
+    public UserOrderStatsDTO(Long userId, String name, String email) {
+        this(userId, name, email, 0L, BigDecimal.ZERO);
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public List<OrderDTO> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<OrderDTO> orders) {
+        this.orders = orders;
+    }
+
+    @Override
+    public String toString() {
+        return "UserOrderStatsDTO{" +
+                "userId=" + userId +
+                ", name='" + name + '\'' +
+                ", orderCount=" + orderCount +
+                ", totalAmount=" + totalAmount +
+                '}';
+    }
+}
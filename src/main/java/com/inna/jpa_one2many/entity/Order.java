@@ -12,14 +12,20 @@ import java.time.LocalDateTime;
  * Description: Order entity representing a customer's order in the system.
  */
 @Entity
-@Table(name = "orders")
+@EntityListeners(OrderChangeListener.class)
+@Table(name = "orders", indexes = {
+        @Index(name = "ix_orders_user_date_id", columnList = "user_id, order_date desc, id desc"),
+        @Index(name = "ux_orders_order_number", columnList = "order_number", unique = true)})
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "order_seq", allocationSize = 50)
     private Long id;// unique identifier for the order in DB
 
-    private String orderNumber; // customer facing order number
+    @Column(name = "order_number", nullable = false)
+    private String orderNumber; // customer facing order number, unique so bulk ingestion can be retried
     private BigDecimal amount;
+    @Column(nullable = false)
     private LocalDateTime orderDate;
 
     @JsonBackReference   // prevents infinite recursion during serialization, having bidirectional relationship
@@ -27,6 +33,14 @@ public class Order {
     @JoinColumn(name = "user_id")
     private User user; // bidirectional relationship, also just userId may be used as altrnative
 
+    // values as last read from or written to the database, so OrderChangeListener can tell what an update changed
+    @Transient
+    private Long persistedUserId;
+    @Transient
+    private BigDecimal persistedAmount;
+    @Transient
+    private LocalDateTime persistedOrderDate;
+
     // Constructors
     public Order() {
     }
@@ -77,4 +91,23 @@ public class Order {
     public void setUser(User user) {
         this.user = user;
     }
+
+    Long getPersistedUserId() {
+        return persistedUserId;
+    }
+
+    BigDecimal getPersistedAmount() {
+        return persistedAmount;
+    }
+
+    LocalDateTime getPersistedOrderDate() {
+        return persistedOrderDate;
+    }
+
+    // Called once the current values match the database row
+    void rememberPersistedState() {
+        persistedUserId = user == null ? null : user.getId();
+        persistedAmount = amount;
+        persistedOrderDate = orderDate;
+    }
 }
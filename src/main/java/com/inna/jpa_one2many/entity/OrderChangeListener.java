@@ -0,0 +1,87 @@
+package com.inna.jpa_one2many.entity;
+
+import com.inna.jpa_one2many.service.OrderChangeGate;
+import com.inna.jpa_one2many.service.OrderChangedEvent;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: JPA entity listener that publishes an OrderChangedEvent for every order row written through JPA,
+ * and keeps the order count and total amount stored on the order's users in step with the change.
+ * Created by Hibernate through Spring's bean container, so its dependencies are injected.
+ * Each change also enters the OrderChangeGate, so it cannot commit while a read structure is loading.
+ */
+public class OrderChangeListener {
+
+    // an increment rather than an absolute value, so concurrent writes to one user's orders never lose a change;
+    // plain JDBC on the transaction's connection, since the callbacks run while Hibernate flushes
+    private static final String APPLY_ORDER_DELTA =
+            "UPDATE users SET order_count = order_count + ?, total_amount = total_amount + ? WHERE id = ?";
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderChangeGate orderChangeGate;
+
+    @PostLoad
+    public void onLoad(Order order) {
+        order.rememberPersistedState();
+    }
+
+    @PostPersist
+    public void onPersist(Order order) {
+        order.rememberPersistedState();
+        applyOrderDelta(order.getPersistedUserId(), 1, amountOf(order.getAmount()));
+        eventPublisher.publishEvent(OrderChangedEvent.created(order.getId(), order.getPersistedUserId(),
+                order.getAmount(), order.getOrderDate()));
+        orderChangeGate.enter();
+    }
+
+    @PostUpdate
+    public void onUpdate(Order order) {
+        OrderChangedEvent event = OrderChangedEvent.updated(order.getId(),
+                order.getPersistedUserId(), order.getPersistedAmount(), order.getPersistedOrderDate(),
+                order.getUser() == null ? null : order.getUser().getId(), order.getAmount(), order.getOrderDate());
+        order.rememberPersistedState();
+        if (!Objects.equals(event.getPreviousUserId(), event.getUserId())) {
+            applyOrderDelta(event.getPreviousUserId(), -1, amountOf(event.getPreviousAmount()).negate());
+            applyOrderDelta(event.getUserId(), 1, amountOf(event.getAmount()));
+        } else if (amountOf(event.getAmount()).compareTo(amountOf(event.getPreviousAmount())) != 0) {
+            applyOrderDelta(event.getUserId(), 0, amountOf(event.getAmount()).subtract(amountOf(event.getPreviousAmount())));
+        }
+        eventPublisher.publishEvent(event);
+        orderChangeGate.enter();
+    }
+
+    @PostRemove
+    public void onRemove(Order order) {
+        applyOrderDelta(order.getPersistedUserId(), -1, amountOf(order.getPersistedAmount()).negate());
+        eventPublisher.publishEvent(OrderChangedEvent.deleted(order.getId(), order.getPersistedUserId(),
+                order.getPersistedAmount(), order.getPersistedOrderDate()));
+        orderChangeGate.enter();
+    }
+
+    private void applyOrderDelta(Long userId, long countDelta, BigDecimal amountDelta) {
+        if (userId != null) {
+            jdbcTemplate.update(APPLY_ORDER_DELTA, countDelta, amountDelta, userId);
+        }
+    }
+
+    private static BigDecimal amountOf(BigDecimal amount) {
+        return amount == null ? BigDecimal.ZERO : amount;
+    }
+}
@@ -2,6 +2,8 @@ package com.inna.jpa_one2many.entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,19 +13,29 @@ import java.util.List;
  * Description: User entity representing a user in the system.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "ix_users_order_count", columnList = "order_count"))
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id; // unique identifier for the user in DB
 
     private String name;
     private String email;
 
     @JsonManagedReference   // prevents infinite recursion during serialization
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Order> orders = new ArrayList<>();
 
+    // Order aggregates kept up to date on every order change, so summaries never scan the orders table.
+    // Only changed by OrderChangeListener with atomic increments, never written back from this entity;
+    // the fields hold the values as loaded. OrderAggregateReconciler repairs any drift.
+    @Column(name = "order_count", nullable = false, updatable = false)
+    private long orderCount;
+
+    @Column(name = "total_amount", nullable = false, updatable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
     // default constructor need by JPA
     public User() {
     }
@@ -66,9 +78,24 @@ public class User {
         this.orders = orders;
     }
 
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
     // Helper method to add order
     public void addOrder(Order order) {
         orders.add(order);
         order.setUser(this);
     }
+
+    // Helper method to remove order, the order is deleted on flush
+    public void removeOrder(Order order) {
+        if (orders.remove(order)) {
+            order.setUser(null);
+        }
+    }
 }
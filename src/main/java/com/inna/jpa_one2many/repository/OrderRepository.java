@@ -1,11 +1,17 @@
 package com.inna.jpa_one2many.repository;
 
+import com.inna.jpa_one2many.dto.OrderDTO;
+import com.inna.jpa_one2many.dto.UserDailyRevenueDTO;
+import com.inna.jpa_one2many.dto.UserOrderStatsDTO;
 import com.inna.jpa_one2many.entity.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Author: Inna Eisenstark
@@ -18,7 +24,24 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o WHERE o.user.id = :userId")
     List<Order> findOrdersByUserId(@Param("userId") Long userId);
 
-    // Find orders by user ordered by date descending
-    @Query("SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.orderDate DESC")
-    List<Order> findOrdersByUserIdOrderByDateDesc(@Param("userId") Long userId);
+    // Number and total amount of orders per user and day, to build the revenue rollup
+    @Query("SELECT new com.inna.jpa_one2many.dto.UserDailyRevenueDTO(o.user.id, CAST(o.orderDate AS LocalDate), " +
+            "COUNT(o), SUM(o.amount)) " +
+            "FROM Order o GROUP BY o.user.id, CAST(o.orderDate AS LocalDate)")
+    Stream<UserDailyRevenueDTO> streamDailyRevenue();
+
+    // Number and total amount of orders per user with orders, counted from the orders table to build the leaderboard
+    @Query("SELECT new com.inna.jpa_one2many.dto.UserOrderStatsDTO(u.id, u.name, u.email, COUNT(o), SUM(o.amount)) " +
+            "FROM Order o JOIN o.user u GROUP BY u.id, u.name, u.email")
+    Stream<UserOrderStatsDTO> streamOrderStatsPerUser();
+
+    // Set-based duplicate lookup for bulk ingestion
+    @Query("SELECT o.orderNumber FROM Order o WHERE o.orderNumber IN :orderNumbers")
+    Set<String> findExistingOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
+
+    // Find the orders of several users at once, grouped by user and newest first
+    @Query("SELECT new com.inna.jpa_one2many.dto.OrderDTO(o.id, o.user.id, o.orderNumber, o.amount, o.orderDate) " +
+            "FROM Order o WHERE o.user.id IN :userIds " +
+            "ORDER BY o.user.id, o.orderDate DESC, o.id DESC")
+    List<OrderDTO> findOrderDTOsByUserIds(@Param("userIds") Collection<Long> userIds);
 }
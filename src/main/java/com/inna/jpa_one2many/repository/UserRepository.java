@@ -1,10 +1,18 @@
 package com.inna.jpa_one2many.repository;
 
+import com.inna.jpa_one2many.dto.UserOrderAggregateDTO;
+import com.inna.jpa_one2many.dto.UserOrderStatsDTO;
+import com.inna.jpa_one2many.dto.UserOrderSummaryDTO;
 import com.inna.jpa_one2many.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Author: Inna Eisenstark
@@ -13,18 +21,45 @@ import java.util.List;
  */
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    // Find users with more than 3 orders
-    @Query("SELECT u FROM User u WHERE SIZE(u.orders) > 3")
-    List<User> findUsersWithMoreThanThreeOrders();
+    // Find users with at least minOrders orders, from the order aggregates stored on each user
+    @Query("SELECT new com.inna.jpa_one2many.dto.UserOrderStatsDTO(u.id, u.name, u.email, u.orderCount, u.totalAmount) " +
+            "FROM User u WHERE u.orderCount >= :minOrders " +
+            "ORDER BY u.id")
+    List<UserOrderStatsDTO> findUserOrderStatsWithMinOrders(@Param("minOrders") long minOrders);
 
-    // Find total order amount per user
-    @Query("SELECT u.id, u.name, SUM(o.amount) as totalAmount " +
-            "FROM User u LEFT JOIN u.orders o " +
-            "GROUP BY u.id, u.name")
-    List<Object[]> findTotalOrderAmountPerUser();
+    // Find total order amount per user, from the order aggregates stored on each user
+    @Query("SELECT new com.inna.jpa_one2many.dto.UserOrderSummaryDTO(u.id, u.name, u.totalAmount) " +
+            "FROM User u ORDER BY u.id")
+    List<UserOrderSummaryDTO> findOrderSummaries();
 
     // Find users with no orders
-    @Query("SELECT u FROM User u WHERE u.orders IS EMPTY")
-    List<User> findUsersWithNoOrders();
-}
+    @Query("SELECT new com.inna.jpa_one2many.dto.UserOrderStatsDTO(u.id, u.name, u.email) " +
+            "FROM User u WHERE u.orderCount = 0 " +
+            "ORDER BY u.id")
+    List<UserOrderStatsDTO> findUserOrderStatsWithNoOrders();
+
+    // Find the names and emails of the given users, without their order statistics
+    @Query("SELECT new com.inna.jpa_one2many.dto.UserOrderStatsDTO(u.id, u.name, u.email) " +
+            "FROM User u WHERE u.id IN :ids")
+    List<UserOrderStatsDTO> findUsersByIds(@Param("ids") Collection<Long> ids);
+
+    // Set-based existence check for bulk ingestion
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 
+    // Find users whose stored order aggregates differ from their orders
+    @Query("SELECT new com.inna.jpa_one2many.dto.UserOrderAggregateDTO(u.id, u.orderCount, u.totalAmount, " +
+            "COUNT(o), SUM(o.amount)) " +
+            "FROM User u LEFT JOIN u.orders o " +
+            "GROUP BY u.id, u.orderCount, u.totalAmount " +
+            "HAVING u.orderCount <> COUNT(o) OR u.totalAmount <> COALESCE(SUM(o.amount), 0)")
+    List<UserOrderAggregateDTO> findOrderAggregateDrift();
+
+    // Overwrite a user's order aggregates, unless they changed since they were read
+    @Modifying
+    @Query("UPDATE User u SET u.orderCount = :orderCount, u.totalAmount = :totalAmount " +
+            "WHERE u.id = :userId AND u.orderCount = :seenCount AND u.totalAmount = :seenAmount")
+    int repairOrderAggregates(@Param("userId") Long userId,
+                              @Param("orderCount") long orderCount, @Param("totalAmount") BigDecimal totalAmount,
+                              @Param("seenCount") long seenCount, @Param("seenAmount") BigDecimal seenAmount);
+}
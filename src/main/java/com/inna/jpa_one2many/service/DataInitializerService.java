@@ -5,6 +5,8 @@ import com.inna.jpa_one2many.entity.Order;
 import com.inna.jpa_one2many.repository.UserRepository;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,17 +18,22 @@ import java.math.BigDecimal;
  * Description: DataInitializerService initializes the database with sample data for testing purposes.
  */
 @Component
+@Profile("!datagen") // replaced by the synthetic data set
+@DependsOn("databaseSnapshot") // a restored snapshot replaces the sample data
 public class DataInitializerService {
 
     @Autowired
     private UserRepository userRepository;
 
     /**
-     * Initializes the database with sample data.
+     * Initializes the database with sample data, unless it already holds users.
      */
     @PostConstruct
     @Transactional
     public void initializeData() {
+        if (userRepository.count() > 0) {
+            return;
+        }
         // User with no orders
         User user1 = new User("Sarah Cohen", "sarahc@example.com");
         userRepository.save(user1);
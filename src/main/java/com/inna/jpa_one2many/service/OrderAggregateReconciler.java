@@ -0,0 +1,53 @@
+package com.inna.jpa_one2many.service;
+
+import com.inna.jpa_one2many.dto.UserOrderAggregateDTO;
+import com.inna.jpa_one2many.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: OrderAggregateReconciler periodically compares the order count and total amount stored on each
+ * user with the orders table, and repairs users whose aggregates drifted (e.g. orders written by SQL).
+ */
+@Component
+public class OrderAggregateReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderAggregateReconciler.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Repairs users whose stored order aggregates differ from their orders.
+     * A user whose aggregates change while the check runs is skipped and checked again on the next run.
+     *
+     * @return The number of users repaired.
+     */
+    @Scheduled(initialDelayString = "${orders.aggregates.reconcile-interval:PT10M}",
+            fixedDelayString = "${orders.aggregates.reconcile-interval:PT10M}")
+    @Transactional
+    public int reconcile() {
+        List<UserOrderAggregateDTO> drifted = userRepository.findOrderAggregateDrift();
+        int repaired = 0;
+        for (UserOrderAggregateDTO aggregate : drifted) {
+            logger.warn("Repairing order aggregates of user {}: stored {} orders / {}, actual {} orders / {}",
+                    aggregate.getUserId(), aggregate.getStoredCount(), aggregate.getStoredAmount(),
+                    aggregate.getActualCount(), aggregate.getActualAmount());
+            repaired += userRepository.repairOrderAggregates(aggregate.getUserId(),
+                    aggregate.getActualCount(), aggregate.getActualAmount(),
+                    aggregate.getStoredCount(), aggregate.getStoredAmount());
+        }
+        if (!drifted.isEmpty()) {
+            logger.info("Order aggregate reconciliation repaired {} of {} drifted users", repaired, drifted.size());
+        }
+        return repaired;
+    }
+}
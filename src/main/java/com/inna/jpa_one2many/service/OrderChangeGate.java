@@ -0,0 +1,67 @@
+package com.inna.jpa_one2many.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: OrderChangeGate keeps order writes from committing while an in-process read structure loads its
+ * initial state from the database. Without it, a change committed during the load could be both read by the load
+ * and applied again through its OrderChangedEvent, or dropped by both.
+ * Transactions that write orders hold the gate shared from their first order write until they complete, after their
+ * events have been applied; loads hold it exclusively.
+ */
+@Component
+public class OrderChangeGate {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Called for each order change after its event was published. Holds the gate until the transaction completes.
+     * Synchronizations registered after the event's run later, so the gate is released once every event of the
+     * transaction has been applied. Changes outside a transaction apply their events at once and are not held.
+     */
+    public void enter() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // changes of this transaction not yet completed; the lock is taken once per transaction
+        int[] pending = (int[]) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            lock.readLock().lock();
+            pending = new int[1];
+            TransactionSynchronizationManager.bindResource(this, pending);
+        }
+        pending[0]++;
+        int[] changes = pending;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (--changes[0] == 0) {
+                    TransactionSynchronizationManager.unbindResource(OrderChangeGate.this);
+                    lock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs a load while no order change can commit. Waits for transactions that already wrote orders to complete.
+     *
+     * @param load the load, which should reset the structure before reading the database
+     * @return the result of the load
+     */
+    public <T> T exclusively(Supplier<T> load) {
+        lock.writeLock().lock();
+        try {
+            return load.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.inna.jpa_one2many.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: OrderChangedEvent is published whenever an order row is inserted, updated or deleted through JPA,
+ * with the order's values before and after the change, so in-process read structures can stay in sync.
+ * Bulk JPQL and SQL writes do not publish events.
+ */
+public class OrderChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long orderId;
+    private final Long previousUserId;
+    private final BigDecimal previousAmount;
+    private final LocalDateTime previousOrderDate;
+    private final Long userId;
+    private final BigDecimal amount;
+    private final LocalDateTime orderDate;
+
+    private OrderChangedEvent(Type type, Long orderId,
+                              Long previousUserId, BigDecimal previousAmount, LocalDateTime previousOrderDate,
+                              Long userId, BigDecimal amount, LocalDateTime orderDate) {
+        this.type = type;
+        this.orderId = orderId;
+        this.previousUserId = previousUserId;
+        this.previousAmount = previousAmount;
+        this.previousOrderDate = previousOrderDate;
+        this.userId = userId;
+        this.amount = amount;
+        this.orderDate = orderDate;
+    }
+
+    public static OrderChangedEvent created(Long orderId, Long userId, BigDecimal amount, LocalDateTime orderDate) {
+        return new OrderChangedEvent(Type.CREATED, orderId, null, null, null, userId, amount, orderDate);
+    }
+
+    public static OrderChangedEvent updated(Long orderId,
+                                            Long previousUserId, BigDecimal previousAmount, LocalDateTime previousOrderDate,
+                                            Long userId, BigDecimal amount, LocalDateTime orderDate) {
+        return new OrderChangedEvent(Type.UPDATED, orderId, previousUserId, previousAmount, previousOrderDate,
+                userId, amount, orderDate);
+    }
+
+    public static OrderChangedEvent deleted(Long orderId, Long previousUserId, BigDecimal previousAmount,
+                                            LocalDateTime previousOrderDate) {
+        return new OrderChangedEvent(Type.DELETED, orderId, previousUserId, previousAmount, previousOrderDate,
+                null, null, null);
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * @return the user before the change, null for CREATED
+     */
+    public Long getPreviousUserId() {
+        return previousUserId;
+    }
+
+    public BigDecimal getPreviousAmount() {
+        return previousAmount;
+    }
+
+    public LocalDateTime getPreviousOrderDate() {
+        return previousOrderDate;
+    }
+
+    /**
+     * @return the user after the change, null for DELETED
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+}
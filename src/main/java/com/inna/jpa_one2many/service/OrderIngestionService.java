@@ -0,0 +1,211 @@
+package com.inna.jpa_one2many.service;
+
+import com.inna.jpa_one2many.dto.OrderIngestItem;
+import com.inna.jpa_one2many.dto.OrderIngestItemResult;
+import com.inna.jpa_one2many.dto.OrderIngestResult;
+import com.inna.jpa_one2many.entity.Order;
+import com.inna.jpa_one2many.entity.User;
+import com.inna.jpa_one2many.repository.OrderRepository;
+import com.inna.jpa_one2many.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static com.inna.QueryConstants.IN_CLAUSE_CHUNK_SIZE;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: OrderIngestionService inserts large batches of orders for existing users.
+ * Orders are keyed by their order number, so a batch can be retried after a failure: orders that were
+ * already stored are reported as duplicates instead of being inserted twice.
+ */
+@Service
+public class OrderIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIngestionService.class);
+
+    private static final String ORDER_NUMBER_INDEX = "ux_orders_order_number";
+    private static final String DUPLICATE_ORDER_MESSAGE = "An order with this order number already exists";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${orders.ingest.max-size:100000}")
+    private int maxBatchSize;
+
+    @Value("${orders.ingest.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    /**
+     * Inserts many orders in a single call.
+     * Each order is validated individually, so invalid or duplicate orders are reported in the result
+     * instead of failing the whole batch. Orders are inserted in chunks, each in its own transaction
+     * together with the matching change to its users' order aggregates (made by OrderChangeListener); if a chunk fails, the chunks
+     * before it stay committed and the batch can simply be submitted again.
+     *
+     * @param orders The orders to insert.
+     * @return The outcome for each submitted order.
+     * @throws IllegalArgumentException if the batch is empty or larger than orders.ingest.max-size.
+     */
+    public OrderIngestResult ingestOrders(List<OrderIngestItem> orders) {
+        if (orders == null || orders.isEmpty()) {
+            logger.error("Order batch cannot be empty");
+            throw new IllegalArgumentException("Order batch cannot be empty");
+        }
+        if (orders.size() > maxBatchSize) {
+            logger.error("Order batch of {} exceeds the maximum of {}", orders.size(), maxBatchSize);
+            throw new IllegalArgumentException("Order batch cannot contain more than " + maxBatchSize + " orders");
+        }
+        long start = System.nanoTime();
+        OrderIngestItemResult[] results = new OrderIngestItemResult[orders.size()];
+
+        // validate, and keep the first occurrence of each order number within the batch
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < orders.size(); i++) {
+            List<String> errors = validationErrors(orders.get(i));
+            if (!errors.isEmpty()) {
+                results[i] = OrderIngestItemResult.invalid(i, errors);
+                continue;
+            }
+            Integer first = candidates.putIfAbsent(orders.get(i).getOrderNumber(), i);
+            if (first != null) {
+                results[i] = OrderIngestItemResult.duplicate(i, "Duplicate of the order at index " + first + " in this batch");
+            }
+        }
+
+        List<Integer> pending = new ArrayList<>(candidates.values());
+        int size = Math.max(1, Math.min(chunkSize, IN_CLAUSE_CHUNK_SIZE));
+        for (int from = 0; from < pending.size(); from += size) {
+            ingestChunk(orders, pending.subList(from, Math.min(from + size, pending.size())), results);
+        }
+
+        OrderIngestResult result = new OrderIngestResult(Arrays.asList(results));
+        logger.info("Ingestion of {} orders: {} created, {} duplicates, {} invalid in {} ms",
+                orders.size(), result.getCreated(), result.getDuplicates(), result.getInvalid(),
+                (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /*
+     * Inserts one chunk in its own transaction. When a concurrent ingestion stores one of the order numbers
+     * first, the unique index rejects the chunk; it is rolled back and tried once more, which then reports
+     * that order as a duplicate.
+     */
+    private void ingestChunk(List<OrderIngestItem> orders, List<Integer> chunk, OrderIngestItemResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertChunk(orders, chunk, results));
+        } catch (PersistenceException | DataIntegrityViolationException ex) {
+            if (!isOrderNumberViolation(ex)) {
+                throw ex;
+            }
+            logger.warn("Order number stored concurrently, retrying chunk of {} orders", chunk.size());
+            transactionTemplate.executeWithoutResult(status -> insertChunk(orders, chunk, results));
+        }
+    }
+
+    private void insertChunk(List<OrderIngestItem> orders, List<Integer> chunk, OrderIngestItemResult[] results) {
+        Set<String> orderNumbers = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (int index : chunk) {
+            orderNumbers.add(orders.get(index).getOrderNumber());
+            userIds.add(orders.get(index).getUserId());
+        }
+        Set<String> existingOrderNumbers = orderRepository.findExistingOrderNumbers(orderNumbers);
+        Set<Long> existingUserIds = userRepository.findExistingIds(userIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        int inserted = 0;
+        for (int index : chunk) {
+            OrderIngestItem item = orders.get(index);
+            if (existingOrderNumbers.contains(item.getOrderNumber())) {
+                results[index] = OrderIngestItemResult.duplicate(index, DUPLICATE_ORDER_MESSAGE);
+                continue;
+            }
+            if (!existingUserIds.contains(item.getUserId())) {
+                results[index] = OrderIngestItemResult.invalid(index, List.of("User " + item.getUserId() + " does not exist"));
+                continue;
+            }
+            Order order = new Order(item.getOrderNumber(), item.getAmount());
+            order.setOrderDate(item.getOrderDate() == null ? now : item.getOrderDate());
+            // a reference is enough for the foreign key, neither the user nor its orders are loaded
+            order.setUser(entityManager.getReference(User.class, item.getUserId()));
+            entityManager.persist(order);
+            results[index] = OrderIngestItemResult.created(index, order.getId());
+            if (++inserted % jdbcBatchSize == 0) {
+                flushAndClear();
+            }
+        }
+        flushAndClear();
+    }
+
+    /*
+     * Sends the pending batched inserts to the database and detaches them, so a large chunk
+     * does not keep every inserted order in the persistence context.
+     */
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private boolean isOrderNumberViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException cve && cve.getConstraintName() != null) {
+                return cve.getConstraintName().toLowerCase(Locale.ROOT).contains(ORDER_NUMBER_INDEX);
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Runs bean validation on an order submitted as part of a batch.
+     *
+     * @param order The order to validate.
+     * @return The validation errors, empty if the order is valid.
+     */
+    private List<String> validationErrors(OrderIngestItem order) {
+        if (order == null) {
+            return List.of("Order cannot be null");
+        }
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<OrderIngestItem> violation : validator.validate(order)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+}
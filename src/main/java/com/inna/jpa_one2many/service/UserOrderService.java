@@ -1,17 +1,34 @@
 package com.inna.jpa_one2many.service;
 
+import com.inna.jpa_one2many.analytics.OrderLeaderboard;
+import com.inna.jpa_one2many.analytics.RevenueGranularity;
+import com.inna.jpa_one2many.analytics.RevenueRollup;
+import com.inna.jpa_one2many.dto.OrderDTO;
+import com.inna.jpa_one2many.dto.OrderPage;
+import com.inna.jpa_one2many.dto.RevenueBucketDTO;
+import com.inna.jpa_one2many.dto.UserOrderStatsDTO;
 import com.inna.jpa_one2many.dto.UserOrderSummaryDTO;
-import com.inna.jpa_one2many.entity.User;
-import com.inna.jpa_one2many.entity.Order;
 import com.inna.jpa_one2many.repository.UserRepository;
 import com.inna.jpa_one2many.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+
+import static com.inna.QueryConstants.IN_CLAUSE_CHUNK_SIZE;
 
 /**
  * Author: Inna Eisenstark
@@ -22,53 +39,234 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserOrderService {
 
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private OrderRepository orderRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private RevenueRollup revenueRollup;
+
+    @Autowired
+    private OrderLeaderboard orderLeaderboard;
+
+    @Value("${orders.leaderboard.default-size:10}")
+    private int defaultLeaderboardSize;
+
+    @Value("${orders.leaderboard.max-size:100}")
+    private int maxLeaderboardSize;
+
+    @Value("${orders.page.default-limit:20}")
+    private int defaultPageLimit;
+
+    @Value("${orders.page.max-limit:100}")
+    private int maxPageLimit;
+
     /**
-     * Retrieves all users from the database.
+     * Retrieves the users with at least the given number of orders, with their order count and total amount.
+     * Reads the order aggregates stored on each user, plus one query per thousand users when the orders are included.
      *
-     * @return List of all users.
+     * @param minOrders     The minimum number of orders.
+     * @param includeOrders Whether to include each user's orders.
+     * @return List of UserOrderStatsDTO, ordered by user ID.
+     * @throws IllegalArgumentException if minOrders is less than 1.
      */
-    public List<User> getUsersWithMoreThanThreeOrders() {
-        return userRepository.findUsersWithMoreThanThreeOrders();
+    @Transactional(readOnly = true)
+    public List<UserOrderStatsDTO> getUsersWithMinOrders(long minOrders, boolean includeOrders) {
+        if (minOrders < 1) {
+            throw new IllegalArgumentException("minOrders must be at least 1");
+        }
+        List<UserOrderStatsDTO> users = userRepository.findUserOrderStatsWithMinOrders(minOrders);
+        if (includeOrders) {
+            attachOrders(users);
+        }
+        return users;
     }
 
     /**
      * Retrieves the total order amount per user.
+     * Reads the order aggregates stored on each user, so the cost depends on the number of users only.
      *
      * @return List of UserOrderSummaryDTO containing user ID, name, and total order amount.
      */
+    @Transactional(readOnly = true)
     public List<UserOrderSummaryDTO> getTotalOrderAmountPerUser() {
-        List<Object[]> results = userRepository.findTotalOrderAmountPerUser();
-        return results.stream()
-                .map(result -> new UserOrderSummaryDTO(
-                        (Long) result[0],
-                        (String) result[1],
-                        result[2] == null ? BigDecimal.ZERO : (BigDecimal) result[2]))
-                .collect(Collectors.toList());
+        return userRepository.findOrderSummaries();
     }
 
     /**
      * Retrieves users who have no orders.
      *
-     * @return List of users with no orders.
+     * @return List of UserOrderStatsDTO of the users with no orders, ordered by user ID.
      */
-    public List<User> getUsersWithNoOrders() {
-        return userRepository.findUsersWithNoOrders();
+    @Transactional(readOnly = true)
+    public List<UserOrderStatsDTO> getUsersWithNoOrders() {
+        return userRepository.findUserOrderStatsWithNoOrders();
     }
 
     /**
-     * Retrieves all orders for a specific user.
+     * Retrieves a page of a user's orders, newest first, optionally restricted to a date range.
+     * Pages continue from the (orderDate, id) position of the previous page through the
+     * (user_id, order_date, id) index, so deep pages cost the same as the first one.
      *
      * @param userId The ID of the user whose orders are to be retrieved.
-     * @return List of orders for the specified user, ordered by date in descending order.
+     * @param after  Opaque cursor from the previous page, or null for the first page.
+     * @param limit  Maximum number of orders on the page, or null for the default.
+     * @param from   Only orders placed at or after this time, or null for no lower bound.
+     * @param to     Only orders placed before this time, or null for no upper bound.
+     * @return A page of orders and the cursor of the next page.
+     * @throws IllegalArgumentException if the limit is out of range, the range is empty or the cursor is invalid.
      */
-    public List<Order> getUserOrders(Long userId) {
-        return orderRepository.findOrdersByUserIdOrderByDateDesc(userId);
+    @Transactional(readOnly = true)
+    public OrderPage getUserOrders(Long userId, String after, Integer limit, LocalDateTime from, LocalDateTime to) {
+        int pageSize = limit == null ? defaultPageLimit : limit;
+        if (pageSize < 1 || pageSize > maxPageLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageLimit);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        OrderPage.Cursor cursor = after == null || after.isEmpty() ? null : OrderPage.decodeCursor(after);
+
+        // only the bounds that are given become predicates, so the unfiltered history has no made-up date range
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.inna.jpa_one2many.dto.OrderDTO(o.id, o.user.id, o.orderNumber, o.amount, o.orderDate) "
+                        + "FROM Order o WHERE o.user.id = :userId");
+        if (from != null) {
+            jpql.append(" AND o.orderDate >= :from");
+        }
+        if (to != null) {
+            jpql.append(" AND o.orderDate < :to");
+        }
+        if (cursor != null) {
+            jpql.append(" AND (o.orderDate < :afterDate OR (o.orderDate = :afterDate AND o.id < :afterId))");
+        }
+        // newest first, served by ix_orders_user_date_id; the id breaks ties between orders placed at the same time
+        jpql.append(" ORDER BY o.orderDate DESC, o.id DESC");
+
+        TypedQuery<OrderDTO> query = entityManager.createQuery(jpql.toString(), OrderDTO.class)
+                .setParameter("userId", userId)
+                // fetch one extra row to know whether there is a next page
+                .setMaxResults(pageSize + 1);
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (cursor != null) {
+            query.setParameter("afterDate", cursor.orderDate());
+            query.setParameter("afterId", cursor.id());
+        }
+        List<OrderDTO> orders = query.getResultList();
+
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            nextCursor = OrderPage.encodeCursor(orders.get(pageSize - 1));
+        }
+        return new OrderPage(orders, nextCursor);
+    }
+
+    /**
+     * Retrieves the number and total amount of orders per day, week or month, overall or for one user.
+     * Served from the in-memory revenue rollup, so no database connection is used.
+     *
+     * @param userId      The user, or null for all users.
+     * @param granularity day, week or month.
+     * @param from        First day of the range, or null for no lower bound.
+     * @param to          Day after the range, or null for no upper bound.
+     * @return The buckets with orders overlapping the range, oldest first.
+     * @throws IllegalArgumentException if the granularity is unknown or the range is empty.
+     * @throws ResponseStatusException with status 503 while the rollup is still loading.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<RevenueBucketDTO> getRevenue(Long userId, String granularity, LocalDate from, LocalDate to) {
+        RevenueGranularity bucketSize = RevenueGranularity.parse(granularity);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (!revenueRollup.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Revenue statistics are still loading");
+        }
+        return userId == null
+                ? revenueRollup.getRevenue(bucketSize, from, to)
+                : revenueRollup.getUserRevenue(userId, bucketSize, from, to);
+    }
+
+    /**
+     * Retrieves the users with the highest total order amount, from the in-memory leaderboard.
+     *
+     * @param k Number of users to return, or null for the default.
+     * @return At most k users with orders, highest total first, ties broken by user ID.
+     * @throws IllegalArgumentException if k is out of range.
+     * @throws ResponseStatusException with status 503 while the leaderboard is still loading.
+     */
+    @Transactional(readOnly = true)
+    public List<UserOrderStatsDTO> getTopSpenders(Integer k) {
+        return withUserDetails(orderLeaderboard.topByTotalAmount(leaderboardSize(k)));
     }
-}
 
+    /**
+     * Retrieves the users with the most orders, from the in-memory leaderboard.
+     *
+     * @param k Number of users to return, or null for the default.
+     * @return At most k users with orders, most orders first, ties broken by user ID.
+     * @throws IllegalArgumentException if k is out of range.
+     * @throws ResponseStatusException with status 503 while the leaderboard is still loading.
+     */
+    @Transactional(readOnly = true)
+    public List<UserOrderStatsDTO> getTopByOrderCount(Integer k) {
+        return withUserDetails(orderLeaderboard.topByOrderCount(leaderboardSize(k)));
+    }
+
+    private int leaderboardSize(Integer k) {
+        int size = k == null ? defaultLeaderboardSize : k;
+        if (size < 1 || size > maxLeaderboardSize) {
+            throw new IllegalArgumentException("k must be between 1 and " + maxLeaderboardSize);
+        }
+        if (!orderLeaderboard.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Leaderboard is still loading");
+        }
+        return size;
+    }
+
+    /*
+     * Adds the name and email of each ranked user, with one query for all of them.
+     */
+    private List<UserOrderStatsDTO> withUserDetails(List<OrderLeaderboard.Standing> standings) {
+        Map<Long, UserOrderStatsDTO> users = new HashMap<>();
+        for (UserOrderStatsDTO user : userRepository.findUsersByIds(standings.stream().map(OrderLeaderboard.Standing::userId).toList())) {
+            users.put(user.getUserId(), user);
+        }
+        List<UserOrderStatsDTO> ranked = new ArrayList<>(standings.size());
+        for (OrderLeaderboard.Standing standing : standings) {
+            UserOrderStatsDTO user = users.get(standing.userId());
+            ranked.add(new UserOrderStatsDTO(standing.userId(), user == null ? null : user.getName(),
+                    user == null ? null : user.getEmail(), standing.orderCount(), standing.totalAmount()));
+        }
+        return ranked;
+    }
+
+    /*
+     * Loads the orders of all given users with batched IN queries and attaches them to each user.
+     */
+    private void attachOrders(List<UserOrderStatsDTO> users) {
+        Map<Long, List<OrderDTO>> ordersByUser = new HashMap<>();
+        List<Long> userIds = users.stream().map(UserOrderStatsDTO::getUserId).toList();
+        for (int start = 0; start < userIds.size(); start += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(start, Math.min(userIds.size(), start + IN_CLAUSE_CHUNK_SIZE));
+            for (OrderDTO order : orderRepository.findOrderDTOsByUserIds(chunk)) {
+                ordersByUser.computeIfAbsent(order.getUserId(), id -> new ArrayList<>()).add(order);
+            }
+        }
+        for (UserOrderStatsDTO user : users) {
+            user.setOrders(ordersByUser.getOrDefault(user.getUserId(), List.of()));
+        }
+    }
+}
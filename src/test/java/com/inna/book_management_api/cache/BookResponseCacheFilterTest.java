@@ -0,0 +1,185 @@
+package com.inna.book_management_api.cache;
+
+import com.inna.book_management_api.models.Book;
+import com.inna.book_management_api.services.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for BookResponseCacheFilter, serving book reads from BookResponseCache through the
+ * whole filter chain and dropping them when books change.
+ */
+// own database, since the spied service makes this a separate context from the other integration tests
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:responsecachedb;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = {"USER", "ADMIN"})
+public class BookResponseCacheFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookResponseCache bookResponseCache;
+
+    @MockitoSpyBean
+    private BookService bookService;
+
+    @BeforeEach
+    public void clearCache() {
+        bookResponseCache.clear();
+        clearInvocations(bookService);
+    }
+
+    @Test
+    @DisplayName("a second read of a book should be served from the cache without reaching the controller")
+    public void getBookById_Twice_ShouldServeSecondFromCache() throws Exception {
+        Book book = bookService.createBook(new Book("Cached Once", "Cache Author", 2001));
+        long hits = bookResponseCache.hitCount();
+
+        MvcResult miss = mockMvc.perform(get("/books/" + book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andExpect(jsonPath("$.title").value("Cached Once"))
+                .andReturn();
+        MvcResult hit = mockMvc.perform(get("/books/" + book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        assertArrayEquals(miss.getResponse().getContentAsByteArray(), hit.getResponse().getContentAsByteArray());
+        assertEquals(miss.getResponse().getHeader(HttpHeaders.ETAG), hit.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(hits + 1, bookResponseCache.hitCount());
+        verify(bookService, times(1)).getBookById(book.getId());
+    }
+
+    @Test
+    @DisplayName("a hit should be gzip-compressed when the client accepts gzip, and not when it refuses it")
+    public void getAllBooks_WithGzip_ShouldServeCompressedHit() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            bookService.createBook(new Book("Compressible Title Number " + i, "Gzip Author", 2000));
+        }
+        byte[] identity = mockMvc.perform(get("/books").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MvcResult gzip = mockMvc.perform(get("/books").param("limit", "50").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        byte[] compressed = gzip.getResponse().getContentAsByteArray();
+        assertTrue(compressed.length < identity.length);
+        assertArrayEquals(identity, gunzip(compressed));
+
+        mockMvc.perform(get("/books").param("limit", "50").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        verify(bookService, times(1)).getBooksPage(null, 50);
+    }
+
+    @Test
+    @DisplayName("a hit should answer a matching If-None-Match with 304 and no body")
+    public void getBookById_WithMatchingETag_ShouldReturn304FromCache() throws Exception {
+        Book book = bookService.createBook(new Book("Not Modified", "Cache Author", 2002));
+        String eTag = mockMvc.perform(get("/books/" + book.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult notModified = mockMvc.perform(get("/books/" + book.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andReturn();
+
+        assertEquals(0, notModified.getResponse().getContentAsByteArray().length);
+        verify(bookService, times(1)).getBookById(book.getId());
+    }
+
+    @Test
+    @DisplayName("responses that are not 200 should not be cached")
+    public void getBookById_NotFound_ShouldNotBeCached() throws Exception {
+        mockMvc.perform(get("/books/999999")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/books/999999")).andExpect(status().isNotFound());
+
+        verify(bookService, times(2)).getBookById(999999L);
+        assertEquals(0, bookResponseCache.size());
+    }
+
+    @Test
+    @DisplayName("PUT, PATCH and DELETE of a book should drop its cached responses")
+    public void writes_ShouldInvalidateCachedBook() throws Exception {
+        Book book = bookService.createBook(new Book("Before Writes", "Cache Author", 2003));
+        String path = "/books/" + book.getId();
+        mockMvc.perform(get(path)).andExpect(jsonPath("$.title").value("Before Writes"));
+
+        mockMvc.perform(put(path).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"After Put\",\"author\":\"Cache Author\",\"publishedYear\":2003}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(path)).andExpect(jsonPath("$.title").value("After Put"));
+        mockMvc.perform(get(path)).andExpect(jsonPath("$.title").value("After Put"));
+
+        mockMvc.perform(patch(path).contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"After Patch\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(path)).andExpect(jsonPath("$.title").value("After Patch"));
+
+        mockMvc.perform(delete(path)).andExpect(status().isNoContent());
+        mockMvc.perform(get(path)).andExpect(status().isNotFound());
+        // one miss after each write, the second read after the PUT was a hit
+        verify(bookService, times(4)).getBookById(book.getId());
+    }
+
+    @Test
+    @DisplayName("a bulk delete should drop the cached responses of every deleted book and the listings")
+    public void bulkDelete_ShouldInvalidateDeletedBooks() throws Exception {
+        Book first = bookService.createBook(new Book("Bulk Cached One", "Bulk Cache Author", 2004));
+        Book second = bookService.createBook(new Book("Bulk Cached Two", "Bulk Cache Author", 2005));
+        mockMvc.perform(get("/books/" + first.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/books/" + second.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/books").param("unpaged", "true"))
+                .andExpect(jsonPath("$[?(@.author == 'Bulk Cache Author')]").isNotEmpty());
+
+        mockMvc.perform(delete("/books").param("author", "bulk cache author"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+
+        mockMvc.perform(get("/books/" + first.getId())).andExpect(status().isNotFound());
+        mockMvc.perform(get("/books/" + second.getId())).andExpect(status().isNotFound());
+        mockMvc.perform(get("/books").param("unpaged", "true"))
+                .andExpect(jsonPath("$[?(@.author == 'Bulk Cache Author')]").isEmpty());
+        verify(bookService, times(2)).getAllBooks();
+        verify(bookService, times(4)).getBookById(any());
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
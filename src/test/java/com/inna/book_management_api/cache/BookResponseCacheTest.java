@@ -0,0 +1,83 @@
+package com.inna.book_management_api.cache;
+
+import com.inna.book_management_api.services.BookChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for BookResponseCache, the cache of encoded book responses.
+ */
+public class BookResponseCacheTest {
+
+    private static final BookResponseCache.Key FIRST_PAGE = new BookResponseCache.Key("page:0:", "*/*");
+    private static final BookResponseCache.Key SECOND_PAGE = new BookResponseCache.Key("page:20:", "*/*");
+    private static final BookResponseCache.Key LAST_PAGE = new BookResponseCache.Key("page:40:", "*/*");
+    private static final BookResponseCache.Key BOOK_25 = new BookResponseCache.Key("book:25", "application/cbor");
+
+    private static BookResponseCache.Entry entry(BookResponseCache.Range range) {
+        return new BookResponseCache.Entry(range, "application/json", "\"1\"", "[]".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("a book change should only drop the responses listing that book")
+    public void onBookChanged_ShouldDropOnlyCoveringEntries() {
+        BookResponseCache cache = new BookResponseCache(100, 1 << 20);
+        cache.put(FIRST_PAGE, entry(new BookResponseCache.Range(0, 20, true)), cache.generation());
+        cache.put(SECOND_PAGE, entry(new BookResponseCache.Range(20, 40, true)), cache.generation());
+        cache.put(LAST_PAGE, entry(new BookResponseCache.Range(40, 45, false)), cache.generation());
+        cache.put(BOOK_25, entry(BookResponseCache.Range.single(25)), cache.generation());
+
+        cache.onBookChanged(BookChangedEvent.deleted(25L));
+        assertNotNull(cache.get(FIRST_PAGE));
+        assertNull(cache.get(SECOND_PAGE));
+        assertNotNull(cache.get(LAST_PAGE));
+        assertNull(cache.get(BOOK_25));
+
+        // a new book at the end of the catalog only changes the last page
+        cache.invalidate(46);
+        assertNotNull(cache.get(FIRST_PAGE));
+        assertNull(cache.get(LAST_PAGE));
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.byteSize());
+    }
+
+    @Test
+    @DisplayName("a response rendered before a book change should not be stored after it")
+    public void put_AfterInvalidation_ShouldNotStore() {
+        BookResponseCache cache = new BookResponseCache(100, 1 << 20);
+        long generation = cache.generation();
+        cache.invalidate(7);
+
+        cache.put(FIRST_PAGE, entry(new BookResponseCache.Range(0, 20, true)), generation);
+        assertNull(cache.get(FIRST_PAGE));
+        assertEquals(0, cache.byteSize());
+    }
+
+    @Test
+    @DisplayName("large bodies should be stored gzipped as well, and the cache should stay within its limits")
+    public void put_ShouldCompressAndEvict() {
+        BookResponseCache cache = new BookResponseCache(2, 1 << 20);
+        byte[] body = "{\"title\":\"The Hobbit\"}".repeat(100).getBytes(StandardCharsets.UTF_8);
+        BookResponseCache.Entry large = new BookResponseCache.Entry(BookResponseCache.Range.single(1), "application/json",
+                null, body);
+        assertNotNull(large.getGzipBody());
+        assertTrue(large.getGzipBody().length < body.length);
+        assertNull(entry(BookResponseCache.Range.single(1)).getGzipBody());
+
+        cache.put(FIRST_PAGE, large, cache.generation());
+        cache.put(SECOND_PAGE, entry(BookResponseCache.Range.single(2)), cache.generation());
+        cache.put(LAST_PAGE, entry(BookResponseCache.Range.single(3)), cache.generation());
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(LAST_PAGE));
+
+        assertTrue(BookResponseCacheFilter.acceptsGzip("deflate, gzip;q=0.8"));
+        assertFalse(BookResponseCacheFilter.acceptsGzip("gzip;q=0, deflate"));
+        assertFalse(BookResponseCacheFilter.acceptsGzip(null));
+    }
+}
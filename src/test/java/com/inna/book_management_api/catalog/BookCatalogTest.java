@@ -0,0 +1,107 @@
+package com.inna.book_management_api.catalog;
+
+import com.inna.book_management_api.models.Book;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for BookCatalog, the in-memory read copy of the book table.
+ */
+public class BookCatalogTest {
+
+    @Test
+    @DisplayName("get should return a detached copy of the stored book")
+    public void get_ShouldReturnStoredBook() {
+        BookCatalog catalog = new BookCatalog();
+        catalog.put(7, "The Hobbit", "J.R.R. Tolkien", 1937, 3);
+
+        Book book = catalog.get(7).orElseThrow();
+
+        assertEquals(7L, book.getId());
+        assertEquals("The Hobbit", book.getTitle());
+        assertEquals("J.R.R. Tolkien", book.getAuthor());
+        assertEquals(1937, book.getPublishedYear());
+        assertEquals(3L, book.getVersion());
+        assertTrue(catalog.get(8).isEmpty());
+    }
+
+    @Test
+    @DisplayName("get and remove should find nothing for id 0 and negative ids")
+    public void get_WithNonPositiveId_ShouldReturnEmpty() {
+        BookCatalog catalog = new BookCatalog();
+        catalog.put(1, "Emma", "Jane Austen", 1815, 0);
+
+        assertTrue(catalog.get(0).isEmpty());
+        assertTrue(catalog.get(-1).isEmpty());
+        assertTrue(catalog.get(Long.MIN_VALUE).isEmpty());
+        catalog.remove(0);
+        catalog.remove(-1);
+        assertEquals(1, catalog.size());
+        assertTrue(catalog.get(1).isPresent());
+    }
+
+    @Test
+    @DisplayName("put should replace an existing book and share author codes")
+    public void put_ShouldReplaceExistingBookAndEncodeAuthorsOnce() {
+        BookCatalog catalog = new BookCatalog();
+        catalog.put(1, "Emma", "Jane Austen", 1815, 0);
+        catalog.put(2, "Persuasion", "Jane Austen", 1817, 0);
+        catalog.put(1, "Emma.", "Jane Austen", 1816, 0);
+
+        assertEquals(2, catalog.size());
+        assertEquals(1, catalog.authorCount());
+        assertEquals("Emma.", catalog.get(1).orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("findPage should page through books in id order after removals")
+    public void findPage_ShouldReturnBooksInIdOrder() {
+        BookCatalog catalog = new BookCatalog();
+        for (long id : new long[]{5, 1, 3, 2, 4}) {
+            catalog.put(id, "Title " + id, "Author", 2000, 0);
+        }
+        catalog.remove(3);
+
+        assertEquals(List.of(1L, 2L), catalog.findPage(null, 2).stream().map(Book::getId).toList());
+        assertEquals(List.of(4L, 5L), catalog.findPage(2L, 10).stream().map(Book::getId).toList());
+        assertEquals(List.of(4L), catalog.findPage(3L, 1).stream().map(Book::getId).toList());
+        assertTrue(catalog.findPage(5L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("catalog should stay consistent with a map under random puts and removes")
+    public void randomOperations_ShouldMatchReferenceMap() {
+        BookCatalog catalog = new BookCatalog();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            long id = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                catalog.remove(id);
+                expected.remove(id);
+            } else {
+                catalog.put(id, "Title " + i, "Author " + (i % 7), 2000, 0);
+                expected.put(id, "Title " + i);
+            }
+        }
+
+        assertEquals(expected.size(), catalog.size());
+        for (long id = 1; id <= 5_000; id++) {
+            assertEquals(expected.get(id), catalog.get(id).map(Book::getTitle).orElse(null));
+        }
+        List<Book> all = catalog.findPage(null, Integer.MAX_VALUE);
+        assertEquals(expected.size(), all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getId() < all.get(i).getId());
+        }
+    }
+}
@@ -1,6 +1,15 @@
 package com.inna.book_management_api.controllers;
 
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.inna.book_management_api.config.SecurityConfig;
+import com.inna.book_management_api.converters.AvroHttpMessageConverter;
+import com.inna.book_management_api.dto.BookBatchItemResult;
+import com.inna.book_management_api.dto.BookBatchResult;
+import com.inna.book_management_api.dto.BookBulkDeleteResult;
+import com.inna.book_management_api.dto.BookMultiGetResult;
+import com.inna.book_management_api.dto.BookPage;
+import com.inna.book_management_api.exception.BookVersionConflictException;
+import com.inna.book_management_api.exception.DuplicateBookException;
 import com.inna.book_management_api.models.Book;
 import com.inna.book_management_api.services.BookService;
 import org.junit.jupiter.api.DisplayName;
@@ -11,14 +20,27 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Description;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -48,7 +70,7 @@ public class BookControllerTest {
         when(bookService.getAllBooks()).thenReturn(books); // Mock the service to return a list of books
 
         // Act & Assert
-        mockMvc.perform(get("/books")
+        mockMvc.perform(get("/books").param("unpaged", "true")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -68,7 +90,7 @@ public class BookControllerTest {
         when(bookService.getAllBooks()).thenReturn(Arrays.asList());
 
         // Act & Assert
-        mockMvc.perform(get("/books")
+        mockMvc.perform(get("/books").param("unpaged", "true")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -76,6 +98,343 @@ public class BookControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    @DisplayName("getAllBooks without unpaged should return a page with the next cursor")
+    @WithMockUser(username = "user", roles = "USER")
+    public void getAllBooks_WithCursor_ShouldReturnPage() throws Exception {
+        // Arrange
+        Book book = new Book("The Hobbit", "J.R.R. Tolkien", 1937);
+        String after = BookPage.encodeCursor(5L);
+        String next = BookPage.encodeCursor(6L);
+        when(bookService.getBooksPage(after, 1)).thenReturn(new BookPage(List.of(book), next));
+
+        // Act & Assert
+        mockMvc.perform(get("/books").param("after", after).param("limit", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("The Hobbit"))
+                .andExpect(jsonPath("$.nextCursor").value(next));
+    }
+
+    @Test
+    @DisplayName("getAllBooks should return 400 Bad Request for an invalid cursor")
+    @WithMockUser(username = "user", roles = "USER")
+    public void getAllBooks_WithInvalidCursor_ShouldReturn400() throws Exception {
+        when(bookService.getBooksPage("bogus", null)).thenThrow(new IllegalArgumentException("Invalid cursor: bogus"));
+
+        mockMvc.perform(get("/books").param("after", "bogus")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("exportBooks should stream one JSON book per line")
+    @WithMockUser(username = "user", roles = "USER")
+    public void exportBooks_ShouldStreamNdjson() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            consumer.accept(new Book("The Hobbit", "J.R.R. Tolkien", 1937));
+            consumer.accept(new Book("1984", "George Orwell", 1949));
+            return null;
+        }).when(bookService).exportBooks(any());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/books/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(); // wait for the streaming body to finish writing
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":null,\"title\":\"The Hobbit\",\"author\":\"J.R.R. Tolkien\",\"publishedYear\":1937,\"version\":null}\n"
+                                + "{\"id\":null,\"title\":\"1984\",\"author\":\"George Orwell\",\"publishedYear\":1949,\"version\":null}\n"));
+    }
+
+    @Test
+    @DisplayName("createBooks should report the outcome of every book in the batch")
+    @WithMockUser(username = "user", roles = "USER")
+    public void createBooks_ShouldReturnPerItemResults() throws Exception {
+        // Arrange
+        when(bookService.createBooks(any())).thenReturn(new BookBatchResult(List.of(
+                BookBatchItemResult.created(0, 11L),
+                BookBatchItemResult.duplicate(1, "Duplicate of the book at index 0 in this batch"))));
+
+        // Act & Assert
+        mockMvc.perform(post("/books/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"The Hobbit\",\"author\":\"J.R.R. Tolkien\",\"publishedYear\":1937},"
+                        + "{\"title\":\"The Hobbit\",\"author\":\"J.R.R. Tolkien\",\"publishedYear\":1937}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.duplicates").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(11))
+                .andExpect(jsonPath("$.items[1].status").value("DUPLICATE"));
+    }
+
+    @Test
+    @DisplayName("searchBooks should return the ranked matches")
+    @WithMockUser(username = "user", roles = "USER")
+    public void searchBooks_ShouldReturnMatches() throws Exception {
+        // Arrange
+        when(bookService.searchBooks("hobbit", 5)).thenReturn(List.of(new Book("The Hobbit", "J.R.R. Tolkien", 1937)));
+
+        // Act & Assert
+        mockMvc.perform(get("/books/search").param("q", "hobbit").param("limit", "5")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("The Hobbit"));
+    }
+
+    @Test
+    @DisplayName("getBookById should return an ETag and 304 Not Modified when it still matches")
+    @WithMockUser(username = "user", roles = "USER")
+    public void getBookById_WithMatchingETag_ShouldReturn304() throws Exception {
+        // Arrange
+        Book book = new Book("The Hobbit", "J.R.R. Tolkien", 1937);
+        book.setId(6L);
+        book.setVersion(2L);
+        when(bookService.getBookById(6L)).thenReturn(book);
+
+        // Act & Assert
+        mockMvc.perform(get("/books/6"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"6-2+json\""))
+                .andExpect(jsonPath("$.version").value(2));
+        mockMvc.perform(get("/books/6").header("If-None-Match", "\"6-2+json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"6-2+json\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("getBookById should give each representation its own ETag")
+    @WithMockUser(username = "user", roles = "USER")
+    public void getBookById_WithCbor_ShouldReturnRepresentationETag() throws Exception {
+        // Arrange
+        Book book = new Book("The Hobbit", "J.R.R. Tolkien", 1937);
+        book.setId(6L);
+        book.setVersion(2L);
+        when(bookService.getBookById(6L)).thenReturn(book);
+
+        // Act & Assert: the JSON body's ETag must not validate the CBOR body
+        mockMvc.perform(get("/books/6").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", "\"6-2+json\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "\"6-2+cbor\""));
+        mockMvc.perform(get("/books/6").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", "\"6-2+cbor\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("updateBook should pass the If-Match version to the service")
+    @WithMockUser(username = "user", roles = "USER")
+    public void updateBook_WithIfMatch_ShouldUpdateExpectedVersion() throws Exception {
+        // Arrange
+        Book updated = new Book("The Hobbit", "J.R.R. Tolkien", 1937);
+        updated.setId(6L);
+        updated.setVersion(3L);
+        when(bookService.updateBook(eq(6L), any(), eq(2L))).thenReturn(updated);
+
+        // Act & Assert
+        mockMvc.perform(put("/books/6").header("If-Match", "\"6-2+cbor\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"The Hobbit\",\"author\":\"J.R.R. Tolkien\",\"publishedYear\":1937}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"6-3+json\""));
+    }
+
+    @Test
+    @DisplayName("updateBook should return 412 Precondition Failed when the version is outdated")
+    @WithMockUser(username = "user", roles = "USER")
+    public void updateBook_WithOutdatedIfMatch_ShouldReturn412() throws Exception {
+        // Arrange
+        when(bookService.updateBook(eq(6L), any(), eq(1L)))
+                .thenThrow(new BookVersionConflictException("Book with id 6 has been modified since version 1"));
+
+        // Act & Assert
+        mockMvc.perform(put("/books/6").header("If-Match", "\"6-1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"The Hobbit\",\"author\":\"J.R.R. Tolkien\",\"publishedYear\":1937}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("patchBook should pass only the sent fields and the If-Match version to the service")
+    @WithMockUser(username = "user", roles = "USER")
+    public void patchBook_WithIfMatch_ShouldPatchExpectedVersion() throws Exception {
+        // Arrange
+        Book patched = new Book("The Hobbit", "J.R.R. Tolkien", 1938);
+        patched.setId(6L);
+        patched.setVersion(3L);
+        when(bookService.patchBook(eq(6L), argThat(patch -> patch.getTitle() == null && patch.getAuthor() == null
+                && patch.getPublishedYear() == 1938), eq(2L))).thenReturn(patched);
+
+        // Act & Assert
+        mockMvc.perform(patch("/books/6").header("If-Match", "\"6-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"publishedYear\":1938}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"6-3+json\""))
+                .andExpect(jsonPath("$.publishedYear").value(1938));
+    }
+
+    @Test
+    @DisplayName("patchBook should return 400 Bad Request for an invalid field")
+    @WithMockUser(username = "user", roles = "USER")
+    public void patchBook_WithInvalidAuthor_ShouldReturn400() throws Exception {
+        mockMvc.perform(patch("/books/6")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"author\":\"R2-D2\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("deleteBooks should be reserved to admins")
+    @WithMockUser(username = "user", roles = "USER")
+    public void deleteBooks_AsUser_ShouldReturn403() throws Exception {
+        mockMvc.perform(delete("/books").param("author", "Milne"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("deleteBooks should return the number of deleted books")
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void deleteBooks_AsAdmin_ShouldReturnDeletedCount() throws Exception {
+        // Arrange
+        when(bookService.deleteBooks("Milne", null, 1930)).thenReturn(new BookBulkDeleteResult(2));
+
+        // Act & Assert
+        mockMvc.perform(delete("/books").param("author", "Milne").param("toYear", "1930"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+    }
+
+    @Test
+    @DisplayName("getBooksByIds should return the found books in order and the missing ids")
+    @WithMockUser(username = "user", roles = "USER")
+    public void getBooksByIds_ShouldReturnFoundAndMissing() throws Exception {
+        // Arrange
+        Book hobbit = new Book("The Hobbit", "J.R.R. Tolkien", 1937);
+        hobbit.setId(6L);
+        Book orwell = new Book("1984", "George Orwell", 1949);
+        orwell.setId(1L);
+        when(bookService.getBooksByIds(List.of(6L, 42L, 1L)))
+                .thenReturn(new BookMultiGetResult(List.of(hobbit, orwell), List.of(42L)));
+
+        // Act & Assert
+        mockMvc.perform(get("/books").param("ids", "6,42,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[0].id").value(6))
+                .andExpect(jsonPath("$.books[1].id").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(42));
+    }
+
+    @Test
+    @DisplayName("lookupBooks should accept the ids in the request body")
+    @WithMockUser(username = "user", roles = "USER")
+    public void lookupBooks_ShouldReadIdsFromBody() throws Exception {
+        // Arrange
+        when(bookService.getBooksByIds(List.of(7L, 8L)))
+                .thenReturn(new BookMultiGetResult(List.of(), List.of(7L, 8L)));
+
+        // Act & Assert
+        mockMvc.perform(post("/books/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[7, 8]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books").isEmpty())
+                .andExpect(jsonPath("$.missing.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("getBooksByIds should return 400 Bad Request for a non-numeric id")
+    @WithMockUser(username = "user", roles = "USER")
+    public void getBooksByIds_WithInvalidId_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/books").param("ids", "1,abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("createBook should return 409 Conflict for a duplicate book")
+    @WithMockUser(username = "user", roles = "USER")
+    public void createBook_WithDuplicate_ShouldReturn409() throws Exception {
+        // Arrange
+        when(bookService.createBook(any(Book.class))).thenThrow(new DuplicateBookException("Book already exists"));
+
+        // Act & Assert
+        mockMvc.perform(post("/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":7,\"title\":\" emma \",\"author\":\"JANE AUSTEN\",\"publishedYear\":1815}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Duplicate book error"))
+                .andExpect(jsonPath("$.errors[0]").value("Book already exists"));
+    }
+
+    @Test
+    @DisplayName("createBook should accept and return CBOR when asked for it")
+    @WithMockUser(username = "user", roles = "USER")
+    public void createBook_WithCbor_ShouldReturnCbor() throws Exception {
+        // Arrange
+        CBORMapper cbor = new CBORMapper();
+        Book saved = new Book("Emma", "Jane Austen", 1815);
+        saved.setId(12L);
+        when(bookService.createBook(argThat(book -> "Emma".equals(book.getTitle())))).thenReturn(saved);
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/books")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cbor.writeValueAsBytes(new Book("Emma", "Jane Austen", 1815))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Assert
+        Book returned = cbor.readValue(result.getResponse().getContentAsByteArray(), Book.class);
+        assertEquals(12L, returned.getId());
+        assertEquals("Jane Austen", returned.getAuthor());
+    }
+
+    @Test
+    @DisplayName("getBookById should return Avro when asked for it, and JSON for any type")
+    @WithMockUser(username = "user", roles = "USER")
+    public void getBookById_WithAvro_ShouldReturnAvro() throws Exception {
+        // Arrange
+        Book book = new Book("The Hobbit", "J.R.R. Tolkien", 1937);
+        book.setId(6L);
+        when(bookService.getBookById(6L)).thenReturn(book);
+        AvroHttpMessageConverter avro = new AvroHttpMessageConverter();
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/books/6").accept(AvroHttpMessageConverter.APPLICATION_AVRO))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(AvroHttpMessageConverter.APPLICATION_AVRO))
+                .andReturn();
+
+        // Assert
+        Book returned = (Book) avro.read(Book.class, null,
+                new MockHttpInputMessage(result.getResponse().getContentAsByteArray()));
+        assertEquals("The Hobbit", returned.getTitle());
+        assertEquals(1937, returned.getPublishedYear());
+
+        mockMvc.perform(get("/books/6").accept(MediaType.ALL))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("getAllBooks should return 406 Not Acceptable for the unpaged list in Avro")
+    @WithMockUser(username = "user", roles = "USER")
+    public void getAllBooks_UnpagedAsAvro_ShouldReturn406() throws Exception {
+        when(bookService.getAllBooks()).thenReturn(List.of(new Book("1984", "George Orwell", 1949)));
+
+        mockMvc.perform(get("/books").param("unpaged", "true").accept(AvroHttpMessageConverter.APPLICATION_AVRO))
+                .andExpect(status().isNotAcceptable());
+    }
+
     @Test
     @DisplayName("getAllBooks should return 401 Unauthorized when user is not authenticated")
     public void getAllBooks_WhenUnauthorized_ShouldReturn401() throws Exception {
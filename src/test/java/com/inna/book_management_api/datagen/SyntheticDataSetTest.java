@@ -0,0 +1,91 @@
+package com.inna.book_management_api.datagen;
+
+import com.inna.book_management_api.models.Constants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for SyntheticDataSet, the rows of the generated data set.
+ */
+public class SyntheticDataSetTest {
+
+    private static final LocalDate END_DATE = LocalDate.of(2025, 6, 20);
+
+    private static SyntheticDataSet dataSet(long seed) {
+        return new SyntheticDataSet(seed, 60_000, 1_000, 120_000, 200, 1.0, 1.1, END_DATE, 365);
+    }
+
+    @Test
+    @DisplayName("the same seed should give the same rows, whichever instance or order produces them")
+    public void partitions_ShouldBeDeterministic() {
+        SyntheticDataSet first = dataSet(7);
+        SyntheticDataSet second = dataSet(7);
+
+        List<Object[]> laterPartitionFirst = second.orders(1);
+        assertRowsEqual(first.orders(1), laterPartitionFirst);
+        assertRowsEqual(first.orders(0), second.orders(0));
+        assertRowsEqual(first.books(1), second.books(1));
+        assertRowsEqual(first.users(0), second.users(0));
+
+        assertNotEquals(first.orders(0).get(0)[2], dataSet(8).orders(0).get(0)[2],
+                "another seed should give other amounts");
+    }
+
+    @Test
+    @DisplayName("partitions should cover every id once, the last one only partly")
+    public void partitions_ShouldCoverAllIds() {
+        SyntheticDataSet dataSet = dataSet(1);
+        assertEquals(2, SyntheticDataSet.partitions(dataSet.getBooks()));
+        assertEquals(SyntheticDataSet.PARTITION_SIZE, dataSet.books(0).size());
+        assertEquals(10_000, dataSet.books(1).size());
+        assertEquals(1L, dataSet.books(0).get(0)[0]);
+        assertEquals(60_000L, dataSet.books(1).get(9_999)[0]);
+    }
+
+    @Test
+    @DisplayName("orders should favour the first users, and years and dates should stay in range")
+    public void rows_ShouldFollowTheDistributions() {
+        SyntheticDataSet dataSet = dataSet(3);
+        long[] ordersPerUser = new long[dataSet.getUsers() + 1];
+        IntStream.range(0, SyntheticDataSet.partitions(dataSet.getOrders()))
+                .mapToObj(dataSet::orders)
+                .flatMap(List::stream)
+                .forEach(order -> {
+                    ordersPerUser[((Long) order[4]).intValue()]++;
+                    LocalDate day = ((LocalDateTime) order[3]).toLocalDate();
+                    assertFalse(day.isAfter(END_DATE));
+                    assertFalse(day.isBefore(END_DATE.minusDays(365)));
+                });
+        // with an exponent of 1.1 the top user has about ten times the orders of the tenth
+        assertTrue(ordersPerUser[1] > 5 * ordersPerUser[10]);
+        assertTrue(ordersPerUser[10] > ordersPerUser[500]);
+
+        for (Object[] book : dataSet.books(0)) {
+            int year = (Integer) book[3];
+            assertTrue(year >= Constants.MIN_PUBLISHED_YEAR && year <= END_DATE.getYear());
+            assertTrue(((String) book[2]).matches(Constants.AUTHOR_NAME_PATTERN));
+        }
+    }
+
+    @Test
+    @DisplayName("every author rank should get its own name")
+    public void authorName_ShouldBeUniquePerRank() {
+        assertEquals(5_000, IntStream.range(0, 5_000).mapToObj(SyntheticDataSet::authorName).distinct().count());
+    }
+
+    private static void assertRowsEqual(List<Object[]> expected, List<Object[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.inna.book_management_api.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for AdaptiveLimit and ConcurrencyLimiter, the adaptive concurrency limits.
+ */
+public class AdaptiveLimitTest {
+
+    private static final long WINDOW = 100_000_000L;
+    private static final long MILLI = 1_000_000L;
+
+    // feeds exactly one window of samples with the given latency and concurrency, returns the time after it
+    private static long window(AdaptiveLimit limit, long now, long rtt, int inFlight, boolean dropped) {
+        for (int i = 0; i < 10; i++) {
+            now += WINDOW / 9;
+            limit.onSample(now, rtt, inFlight, dropped && i == 0);
+        }
+        return now;
+    }
+
+    @Test
+    @DisplayName("the limit should grow while latency stays flat and shrink once requests queue")
+    public void limit_ShouldFollowLatency() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 2, 100, WINDOW);
+        long now = 0;
+        for (int i = 0; i < 20; i++) {
+            now = window(limit, now, 5 * MILLI, limit.getLimit(), false);
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 20, "flat latency at full use should raise the limit, was " + grown);
+
+        for (int i = 0; i < 5; i++) {
+            now = window(limit, now, 50 * MILLI, limit.getLimit(), false);
+        }
+        assertTrue(limit.getLimit() < grown / 2, "tenfold latency should cut the limit, was " + limit.getLimit());
+        assertTrue(limit.getLimit() >= limit.getMinLimit());
+    }
+
+    @Test
+    @DisplayName("the limit should only back off on drops, and stay put while it is not the bottleneck")
+    public void limit_ShouldBackOffOnDropsOnly() {
+        AdaptiveLimit limit = new AdaptiveLimit(40, 2, 100, WINDOW);
+        long now = window(limit, 0, 5 * MILLI, 3, false);
+        assertEquals(40, limit.getLimit());
+
+        window(limit, now, 5 * MILLI, 40, true);
+        assertEquals(36, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("the limiter should reject requests beyond its limit until a permit is released")
+    public void tryAcquire_AtLimit_ShouldReject() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("read", new AdaptiveLimit(2, 1, 10, WINDOW));
+        ConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        assertNotNull(first);
+        assertNotNull(limiter.tryAcquire());
+        assertNull(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+
+        first.onSuccess();
+        first.onSuccess();
+        assertEquals(1, limiter.getInFlight());
+        assertNotNull(limiter.tryAcquire());
+    }
+}
@@ -0,0 +1,90 @@
+package com.inna.book_management_api.limiter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for ConcurrencyLimitFilter, the per-partition load shedding in front of the controllers.
+ */
+public class ConcurrencyLimitFilterTest {
+
+    private static final long WINDOW = 100_000_000L;
+
+    private final ConcurrencyLimiter readLimiter = new ConcurrencyLimiter("read", new AdaptiveLimit(1, 1, 1, WINDOW));
+    private final ConcurrencyLimiter writeLimiter = new ConcurrencyLimiter("write", new AdaptiveLimit(1, 1, 1, WINDOW));
+    private final ConcurrencyLimiter adminLimiter = new ConcurrencyLimiter("admin", new AdaptiveLimit(1, 1, 1, WINDOW));
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ConcurrencyLimitFilter filter =
+            new ConcurrencyLimitFilter(readLimiter, writeLimiter, adminLimiter, objectMapper);
+
+    @Test
+    @DisplayName("a request beyond the limit should get 503 with Retry-After and an ApiError body")
+    public void doFilter_AtLimit_ShouldReject() throws Exception {
+        AtomicInteger rejectedStatus = new AtomicInteger();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        // the second read arrives while the first still holds the only permit
+        filter.doFilter(new MockHttpServletRequest("GET", "/books/1"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    filter.doFilter(new MockHttpServletRequest("GET", "/books/2"), rejected, new MockFilterChain());
+                    rejectedStatus.set(rejected.getStatus());
+                });
+
+        assertEquals(503, rejectedStatus.get());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("application/json", rejected.getContentType());
+        JsonNode body = objectMapper.readTree(rejected.getContentAsByteArray());
+        assertEquals("SERVICE_UNAVAILABLE", body.get("status").asText());
+        assertEquals("Service unavailable", body.get("message").asText());
+        assertEquals("Too many concurrent requests, try again later", body.get("errors").get(0).asText());
+        assertEquals(1, readLimiter.getRejectedCount());
+        assertEquals(0, readLimiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("lookups should take a read permit, and deletes an admin permit")
+    public void doFilter_ShouldPickPartitionByRequest() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("POST", "/books/lookup"), new MockHttpServletResponse(),
+                (request, response) -> assertEquals(1, readLimiter.getInFlight()));
+        filter.doFilter(new MockHttpServletRequest("POST", "/books"), new MockHttpServletResponse(),
+                (request, response) -> assertEquals(1, writeLimiter.getInFlight()));
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/books/3"), new MockHttpServletResponse(),
+                (request, response) -> assertEquals(1, adminLimiter.getInFlight()));
+
+        assertEquals(1, readLimiter.getAcceptedCount());
+        assertEquals(1, writeLimiter.getAcceptedCount());
+        assertEquals(1, adminLimiter.getAcceptedCount());
+    }
+
+    @Test
+    @DisplayName("a streamed response should hold its permit until the async request completes")
+    public void doFilter_WithAsyncExport_ShouldReleaseOnCompletion() throws Exception {
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/books/export");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        assertTrue(export.isAsyncStarted());
+        assertEquals(1, readLimiter.getInFlight());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/books"), rejected, new MockFilterChain());
+        assertEquals(503, rejected.getStatus());
+
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+        assertEquals(0, readLimiter.getInFlight());
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/books"), accepted, new MockFilterChain());
+        assertEquals(200, accepted.getStatus());
+    }
+}
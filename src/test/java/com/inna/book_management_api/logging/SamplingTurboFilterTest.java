@@ -0,0 +1,39 @@
+package com.inna.book_management_api.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for SamplingTurboFilter, the per-logger log sampling configured in logback-spring.xml.
+ */
+public class SamplingTurboFilterTest {
+
+    @Test
+    @DisplayName("decide should apply the closest configured rate below WARN only")
+    public void decide_ShouldSampleEventsBelowWarnOfConfiguredLoggers() {
+        LoggerContext context = new LoggerContext();
+        Logger controllers = context.getLogger("com.inna.controllers.BookController");
+        Logger services = context.getLogger("com.inna.services.BookServiceImpl");
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setSamples("com.inna=0, com.inna.services=1");
+        filter.start();
+
+        assertEquals(FilterReply.DENY, filter.decide(null, controllers, Level.INFO, "message", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, controllers, Level.WARN, "message", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, controllers, Level.INFO, "failed", null, new IllegalStateException()));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, services, Level.INFO, "message", null, null));
+        assertEquals(1, filter.getSampledOutCount());
+
+        filter.setRate("com.inna", null);
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, controllers, Level.INFO, "message", null, null));
+        assertThrows(IllegalArgumentException.class, () -> filter.setRate("com.inna", 1.5));
+    }
+}
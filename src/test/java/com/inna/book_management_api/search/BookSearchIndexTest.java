@@ -0,0 +1,44 @@
+package com.inna.book_management_api.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for BookSearchIndex, the inverted index behind GET /books/search.
+ */
+public class BookSearchIndexTest {
+
+    @Test
+    @DisplayName("search should be case-insensitive and rank books matching more terms first")
+    public void search_ShouldRankBooksMatchingAllTermsFirst() {
+        BookSearchIndex index = new BookSearchIndex();
+        index.index(1L, "The Adventures of Tom Sawyer", "Mark Twain");
+        index.index(2L, "Alice's Adventures in Wonderland", "Lewis Carroll");
+        index.index(3L, "The Prince and the Pauper", "Mark Twain");
+
+        assertEquals(List.of(1L, 2L, 3L), index.search("TWAIN adventures", 10));
+        assertEquals(List.of(1L), index.search("twain adventures", 1));
+        assertEquals(List.of(2L), index.search("wonderland", 10));
+        assertTrue(index.search("dracula", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("index and remove should replace and drop a book's postings")
+    public void indexAndRemove_ShouldUpdatePostings() {
+        BookSearchIndex index = new BookSearchIndex();
+        index.index(1L, "Dracula", "Bram Stoker");
+        index.index(1L, "The Jewel of Seven Stars", "Bram Stoker");
+
+        assertTrue(index.search("dracula", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("jewel", 10));
+
+        index.remove(1L);
+        assertTrue(index.search("stoker", 10).isEmpty());
+    }
+}
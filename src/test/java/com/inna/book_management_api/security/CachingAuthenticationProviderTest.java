@@ -0,0 +1,84 @@
+package com.inna.book_management_api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for CachingAuthenticationProvider, the verified-credential cache in front of BCrypt.
+ */
+public class CachingAuthenticationProviderTest {
+
+    private final AtomicInteger passwordChecks = new AtomicInteger();
+    private BCryptPasswordEncoder passwordEncoder;
+    private InMemoryUserDetailsManager users;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                passwordChecks.incrementAndGet();
+                return super.matches(rawPassword, encodedPassword);
+            }
+        };
+        users = new InMemoryUserDetailsManager(User.withUsername("user")
+                .password(passwordEncoder.encode("userpass")).roles("USER").build());
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider();
+        daoProvider.setUserDetailsService(users);
+        daoProvider.setPasswordEncoder(passwordEncoder);
+        provider = new CachingAuthenticationProvider(daoProvider, users, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    @DisplayName("authenticate should hash the password only once for repeated valid credentials")
+    public void authenticate_ShouldReuseVerifiedCredentials() {
+        Authentication first = provider.authenticate(credentials("user", "userpass"));
+        Authentication second = provider.authenticate(credentials("user", "userpass"));
+
+        assertTrue(first.isAuthenticated());
+        assertTrue(second.isAuthenticated());
+        assertEquals("user", second.getName());
+        assertTrue(second.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER")));
+        assertEquals(1, passwordChecks.get());
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("user", "wrong")));
+    }
+
+    @Test
+    @DisplayName("authenticate should stop trusting cached credentials when the user changes")
+    public void authenticate_ShouldInvalidateWhenUserChanges() {
+        provider.authenticate(credentials("user", "userpass"));
+
+        users.updateUser(User.withUsername("user").password(passwordEncoder.encode("newpass")).roles("USER").build());
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("user", "userpass")));
+        assertTrue(provider.authenticate(credentials("user", "newpass")).isAuthenticated());
+
+        users.updateUser(User.withUsername("user").password(passwordEncoder.encode("newpass")).roles("USER")
+                .disabled(true).build());
+        assertThrows(DisabledException.class, () -> provider.authenticate(credentials("user", "newpass")));
+
+        users.deleteUser("user");
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("user", "newpass")));
+        assertEquals(0, provider.size());
+    }
+
+    private UsernamePasswordAuthenticationToken credentials(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,72 @@
+package com.inna.book_management_api.services;
+
+import com.inna.book_management_api.exception.DuplicateBookException;
+import com.inna.book_management_api.models.Book;
+import com.inna.book_management_api.repositories.BookRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for BookServiceImpl, creating books against the database and its unique title/author index.
+ */
+// own database, since the spied repository makes this a separate context from the other integration tests
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bookservicedb;DB_CLOSE_ON_EXIT=FALSE")
+public class BookServiceImplTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @MockitoSpyBean
+    private BookRepository bookRepository;
+
+    @Test
+    @DisplayName("createBook should ignore a client-supplied id and insert a new book")
+    public void createBook_WithClientId_ShouldGenerateId() {
+        Book existing = bookService.createBook(new Book("Service Test Existing", "Test Author", 2001));
+        Book book = new Book("Service Test With Id", "Test Author", 2002);
+        book.setId(existing.getId());
+
+        Book created = bookService.createBook(book);
+
+        assertNotEquals(existing.getId(), created.getId());
+        assertEquals("Service Test Existing", bookRepository.findById(existing.getId()).orElseThrow().getTitle());
+        assertEquals("Service Test With Id", bookRepository.findById(created.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("createBook should reject a duplicate found by the title/author probe, whatever its case and spacing")
+    public void createBook_WithDuplicate_ShouldBeRejectedByProbe() {
+        bookService.createBook(new Book("Service Test Probe", "Probe Author", 2003));
+
+        assertThrows(DuplicateBookException.class,
+                () -> bookService.createBook(new Book("Service Test Probe", "Probe Author", 2003)));
+        assertThrows(DuplicateBookException.class,
+                () -> bookService.createBook(new Book("  SERVICE test probe ", "probe AUTHOR  ", 1999)));
+    }
+
+    @Test
+    @DisplayName("createBook should map a violation of the unique title/author index to DuplicateBookException")
+    public void createBook_WithDuplicatePastProbe_ShouldBeRejectedByIndex() {
+        bookService.createBook(new Book("Service Test Index", "Index Author", 2004));
+        // as if a concurrent insert committed between the probe and the insert
+        doReturn(false).when(bookRepository).existsByTitleAuthorKey(anyString());
+        try {
+            assertThrows(DuplicateBookException.class,
+                    () -> bookService.createBook(new Book("Service Test Index", "Index Author", 2004)));
+            assertThrows(DuplicateBookException.class,
+                    () -> bookService.createBook(new Book(" service TEST index", "INDEX author ", 2005)));
+        } finally {
+            reset(bookRepository);
+        }
+    }
+}
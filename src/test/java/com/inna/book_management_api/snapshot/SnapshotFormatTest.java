@@ -0,0 +1,68 @@
+package com.inna.book_management_api.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for SnapshotOutput and SnapshotInput, the binary encoding of snapshot files.
+ */
+public class SnapshotFormatTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("values written by SnapshotOutput should be read back unchanged by SnapshotInput")
+    public void roundTrip_ShouldPreserveValues() throws IOException {
+        Path file = directory.resolve("snapshot.bin");
+        LocalDateTime orderDate = LocalDateTime.of(2025, 6, 20, 13, 45, 30, 123_456_789);
+        try (SnapshotOutput out = new SnapshotOutput(file)) {
+            out.writeLong(42L);
+            out.writeString("Crime and Punishment – Достоевский");
+            out.writeString(null);
+            out.writeNullableInt(null);
+            out.writeNullableLong(7L);
+            out.writeDecimal(new BigDecimal("-12345678901234567890.25"));
+            out.writeDecimal(null);
+            out.writeDateTime(orderDate);
+            out.finish();
+        }
+
+        SnapshotInput in = SnapshotInput.verified(ByteBuffer.wrap(Files.readAllBytes(file)));
+        assertEquals(42L, in.readLong());
+        assertEquals("Crime and Punishment – Достоевский", in.readString());
+        assertNull(in.readString());
+        assertNull(in.readNullableInt());
+        assertEquals(7L, in.readNullableLong());
+        assertEquals(new BigDecimal("-12345678901234567890.25"), in.readDecimal());
+        assertNull(in.readDecimal());
+        assertEquals(orderDate, in.readDateTime());
+        assertThrows(IOException.class, in::readByte);
+    }
+
+    @Test
+    @DisplayName("a changed byte should fail the checksum")
+    public void verified_ShouldRejectCorruptFile() throws IOException {
+        Path file = directory.resolve("snapshot.bin");
+        try (SnapshotOutput out = new SnapshotOutput(file)) {
+            out.writeString("Dracula");
+            out.finish();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[5] ^= 1;
+
+        assertThrows(IOException.class, () -> SnapshotInput.verified(ByteBuffer.wrap(bytes)));
+    }
+}
@@ -0,0 +1,151 @@
+package com.inna.jpa_one2many.analytics;
+
+import com.inna.jpa_one2many.dto.OrderIngestItem;
+import com.inna.jpa_one2many.dto.UserOrderSummaryDTO;
+import com.inna.jpa_one2many.entity.Order;
+import com.inna.jpa_one2many.entity.User;
+import com.inna.jpa_one2many.repository.OrderRepository;
+import com.inna.jpa_one2many.repository.UserRepository;
+import com.inna.jpa_one2many.service.OrderAggregateReconciler;
+import com.inna.jpa_one2many.service.OrderIngestionService;
+import com.inna.jpa_one2many.service.UserOrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for OrderLeaderboard, comparing its rankings with the same rankings computed by SQL
+ * after random order inserts, amount changes and removals.
+ */
+@SpringBootTest
+public class OrderLeaderboardTest {
+
+    // few distinct amounts, so many users tie and the user id decides
+    private static final BigDecimal[] AMOUNTS = {
+            new BigDecimal("5.00"), new BigDecimal("10.00"), new BigDecimal("20.00"), new BigDecimal("50.00")
+    };
+
+    @Autowired
+    private OrderLeaderboard orderLeaderboard;
+
+    @Autowired
+    private OrderIngestionService orderIngestionService;
+
+    @Autowired
+    private UserOrderService userOrderService;
+
+    @Autowired
+    private OrderAggregateReconciler orderAggregateReconciler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("rankings should match SQL over the orders table after random order writes")
+    public void rankings_ShouldMatchSqlAfterRandomWrites() {
+        SplittableRandom random = new SplittableRandom(18);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            users.add(new User("Leaderboard User " + i, "leaderboard" + i + "@example.com"));
+        }
+        long[] userIds = userRepository.saveAll(users).stream().mapToLong(User::getId).toArray();
+
+        List<OrderIngestItem> orders = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            orders.add(new OrderIngestItem(userIds[random.nextInt(userIds.length)], "LB-" + i,
+                    AMOUNTS[random.nextInt(AMOUNTS.length)], null));
+        }
+        assertEquals(orders.size(), orderIngestionService.ingestOrders(orders).getCreated());
+
+        List<Long> orderIds = jdbcTemplate.queryForList("SELECT id FROM orders WHERE order_number LIKE 'LB-%'", Long.class);
+        for (int i = 0; i < 200; i++) {
+            Long orderId = orderIds.get(random.nextInt(orderIds.size()));
+            BigDecimal amount = AMOUNTS[random.nextInt(AMOUNTS.length)];
+            boolean remove = random.nextInt(3) == 0;
+            transactionTemplate.executeWithoutResult(status -> orderRepository.findById(orderId).ifPresent(order -> {
+                if (remove) {
+                    order.getUser().removeOrder(order);
+                } else {
+                    order.setAmount(amount);
+                }
+            }));
+        }
+
+        assertEquals(sqlRanking("SUM(amount) DESC"), describe(orderLeaderboard.topByTotalAmount(1000)));
+        assertEquals(sqlRanking("COUNT(*) DESC"), describe(orderLeaderboard.topByOrderCount(1000)));
+
+        // and the same totals as the order summary
+        Map<Long, BigDecimal> summaries = userOrderService.getTotalOrderAmountPerUser().stream()
+                .collect(Collectors.toMap(UserOrderSummaryDTO::getUserId, UserOrderSummaryDTO::getTotalAmount));
+        for (OrderLeaderboard.Standing standing : orderLeaderboard.topByTotalAmount(10)) {
+            assertEquals(0, summaries.get(standing.userId()).compareTo(standing.totalAmount()));
+        }
+        assertEquals(describe(orderLeaderboard.topByTotalAmount(5)).stream().map(s -> s.split(":")[0]).toList(),
+                userOrderService.getTopSpenders(5).stream().map(user -> String.valueOf(user.getUserId())).toList());
+    }
+
+    @Test
+    @DisplayName("rankings should follow orders written without the User helpers and ignore drift in the stored aggregates")
+    public void rankings_ShouldFollowOrdersNotStoredAggregates() {
+        Long[] userIds = transactionTemplate.execute(status -> new Long[]{
+                userRepository.save(new User("Leaderboard Direct 1", "direct1@example.com")).getId(),
+                userRepository.save(new User("Leaderboard Direct 2", "direct2@example.com")).getId()});
+        Long orderId = transactionTemplate.execute(status -> {
+            Order order = new Order("LB-DIRECT-1", new BigDecimal("7000.00"));
+            order.setUser(userRepository.getReferenceById(userIds[0]));
+            return orderRepository.save(order).getId();
+        });
+        assertEquals(userIds[0], orderLeaderboard.topByTotalAmount(1).getFirst().userId());
+
+        transactionTemplate.executeWithoutResult(status ->
+                orderRepository.findById(orderId).orElseThrow().setUser(userRepository.getReferenceById(userIds[1])));
+        assertEquals(sqlRanking("SUM(amount) DESC"), describe(orderLeaderboard.topByTotalAmount(1000)));
+
+        // as if the stored aggregates had drifted; a reload counts the orders themselves
+        jdbcTemplate.update("UPDATE users SET order_count = 99, total_amount = 99999.00 WHERE id = ?", userIds[0]);
+        orderLeaderboard.load();
+        assertEquals(sqlRanking("SUM(amount) DESC"), describe(orderLeaderboard.topByTotalAmount(1000)));
+        assertEquals(sqlRanking("COUNT(*) DESC"), describe(orderLeaderboard.topByOrderCount(1000)));
+        orderAggregateReconciler.reconcile();
+
+        transactionTemplate.executeWithoutResult(status -> orderRepository.deleteById(orderId));
+        assertEquals(sqlRanking("SUM(amount) DESC"), describe(orderLeaderboard.topByTotalAmount(1000)));
+    }
+
+    private List<String> sqlRanking(String orderBy) {
+        return jdbcTemplate.query("SELECT user_id, COUNT(*) AS order_count, SUM(amount) AS total FROM orders " +
+                        "GROUP BY user_id ORDER BY " + orderBy + ", user_id",
+                (rs, row) -> rs.getLong("user_id") + ":" + rs.getLong("order_count") + ":"
+                        + rs.getBigDecimal("total").stripTrailingZeros().toPlainString());
+    }
+
+    private static List<String> describe(List<OrderLeaderboard.Standing> standings) {
+        Function<OrderLeaderboard.Standing, String> line = standing -> standing.userId() + ":" + standing.orderCount()
+                + ":" + standing.totalAmount().stripTrailingZeros().toPlainString();
+        return standings.stream().map(line).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.inna.jpa_one2many.analytics;
+
+import com.inna.jpa_one2many.dto.RevenueBucketDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for RevenueRollup, the day/week/month order totals behind /one2many-example/stats/revenue.
+ */
+public class RevenueRollupTest {
+
+    private static final LocalDateTime SUNDAY = LocalDateTime.of(2025, 3, 2, 18, 0);
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+    @Test
+    @DisplayName("orders should be added to the day, ISO week and month containing them")
+    public void apply_ShouldAddOrdersToTheirBuckets() {
+        RevenueRollup rollup = new RevenueRollup();
+        rollup.apply(null, null, null, 1L, SUNDAY, new BigDecimal("10.00"));
+        rollup.apply(null, null, null, 2L, MONDAY, new BigDecimal("5.50"));
+
+        assertEquals(List.of("2025-02-24:1:10.00", "2025-03-03:1:5.50"),
+                describe(rollup.getRevenue(RevenueGranularity.WEEK, null, null)));
+        assertEquals(List.of("2025-03-01:2:15.50"), describe(rollup.getRevenue(RevenueGranularity.MONTH, null, null)));
+        assertEquals(List.of("2025-03-03:1:5.50"),
+                describe(rollup.getUserRevenue(2L, RevenueGranularity.DAY, LocalDate.of(2025, 3, 1), null)));
+        // the week containing "from" is included, "to" is exclusive
+        assertEquals(List.of("2025-02-24:1:10.00"),
+                describe(rollup.getRevenue(RevenueGranularity.WEEK, LocalDate.of(2025, 2, 26), LocalDate.of(2025, 3, 3))));
+    }
+
+    @Test
+    @DisplayName("updates should move orders between buckets and deletes should drop empty buckets")
+    public void apply_ShouldMoveAndRemoveOrders() {
+        RevenueRollup rollup = new RevenueRollup();
+        rollup.apply(null, null, null, 1L, SUNDAY, new BigDecimal("10.00"));
+
+        // new amount, same day
+        rollup.apply(1L, SUNDAY, new BigDecimal("10.00"), 1L, SUNDAY, new BigDecimal("12.00"));
+        assertEquals(List.of("2025-03-02:1:12.00"), describe(rollup.getRevenue(RevenueGranularity.DAY, null, null)));
+
+        // moved to the next week and to another user
+        rollup.apply(1L, SUNDAY, new BigDecimal("12.00"), 2L, MONDAY, new BigDecimal("12.00"));
+        assertEquals(List.of("2025-03-03:1:12.00"), describe(rollup.getRevenue(RevenueGranularity.WEEK, null, null)));
+        assertTrue(rollup.getUserRevenue(1L, RevenueGranularity.MONTH, null, null).isEmpty());
+        assertEquals(List.of("2025-03-01:1:12.00"), describe(rollup.getUserRevenue(2L, RevenueGranularity.MONTH, null, null)));
+
+        rollup.apply(2L, MONDAY, new BigDecimal("12.00"), null, null, null);
+        assertTrue(rollup.getRevenue(RevenueGranularity.DAY, null, null).isEmpty());
+    }
+
+    private static List<String> describe(List<RevenueBucketDTO> buckets) {
+        return buckets.stream()
+                .map(bucket -> bucket.getStart() + ":" + bucket.getOrderCount() + ":" + bucket.getRevenue())
+                .toList();
+    }
+}
@@ -0,0 +1,172 @@
+package com.inna.jpa_one2many.service;
+
+import com.inna.jpa_one2many.dto.OrderIngestItem;
+import com.inna.jpa_one2many.entity.Order;
+import com.inna.jpa_one2many.entity.User;
+import com.inna.jpa_one2many.repository.OrderRepository;
+import com.inna.jpa_one2many.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for the order aggregates stored on each user, kept in step by order writes
+ * and repaired by OrderAggregateReconciler.
+ */
+@SpringBootTest
+public class OrderAggregateReconcilerTest {
+
+    @Autowired
+    private OrderAggregateReconciler orderAggregateReconciler;
+
+    @Autowired
+    private OrderIngestionService orderIngestionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("creating, changing and deleting orders should keep the user's aggregates equal to COUNT and SUM")
+    public void orderWrites_ShouldKeepAggregatesInStep() {
+        Long userId = transactionTemplate.execute(status -> {
+            User user = new User("Aggregate User", "aggregate@example.com");
+            user.addOrder(new Order("AGG-1", new BigDecimal("10.00")));
+            user.addOrder(new Order("AGG-2", new BigDecimal("20.00")));
+            return userRepository.save(user).getId();
+        });
+        assertAggregatesMatchOrders(userId, 2, "30.00");
+
+        // bulk ingestion
+        orderIngestionService.ingestOrders(List.of(new OrderIngestItem(userId, "AGG-3", new BigDecimal("5.50"), null)));
+        assertAggregatesMatchOrders(userId, 3, "35.50");
+
+        Long orderId = jdbcTemplate.queryForObject("SELECT id FROM orders WHERE order_number = 'AGG-1'", Long.class);
+        transactionTemplate.executeWithoutResult(status ->
+                orderRepository.findById(orderId).orElseThrow().setAmount(new BigDecimal("12.25")));
+        assertAggregatesMatchOrders(userId, 3, "37.75");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findById(userId).orElseThrow();
+            Order order = user.getOrders().stream()
+                    .filter(candidate -> "AGG-2".equals(candidate.getOrderNumber())).findFirst().orElseThrow();
+            user.removeOrder(order);
+        });
+        assertAggregatesMatchOrders(userId, 2, "17.75");
+    }
+
+    @Test
+    @DisplayName("orders saved, reassigned and deleted without the User helpers should keep both users' aggregates in step")
+    public void orderWritesWithoutHelpers_ShouldKeepAggregatesInStep() {
+        Long[] userIds = transactionTemplate.execute(status -> new Long[]{
+                userRepository.save(new User("First Owner", "first.owner@example.com")).getId(),
+                userRepository.save(new User("Second Owner", "second.owner@example.com")).getId()});
+
+        Long orderId = transactionTemplate.execute(status -> {
+            Order order = new Order("MOVE-1", new BigDecimal("8.00"));
+            order.setUser(userRepository.getReferenceById(userIds[0]));
+            return orderRepository.save(order).getId();
+        });
+        assertAggregatesMatchOrders(userIds[0], 1, "8.00");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(orderId).orElseThrow();
+            order.setUser(userRepository.getReferenceById(userIds[1]));
+            order.setAmount(new BigDecimal("9.50"));
+        });
+        assertAggregatesMatchOrders(userIds[0], 0, "0");
+        assertAggregatesMatchOrders(userIds[1], 1, "9.50");
+
+        transactionTemplate.executeWithoutResult(status -> orderRepository.deleteById(orderId));
+        assertAggregatesMatchOrders(userIds[1], 0, "0");
+    }
+
+    @Test
+    @DisplayName("concurrent transactions adding orders to the same user should not lose any aggregate update")
+    public void concurrentOrderWrites_ShouldNotLoseUpdates() throws Exception {
+        Long userId = transactionTemplate.execute(status ->
+                userRepository.save(new User("Busy User", "busy@example.com")).getId());
+        int threads = 4;
+        int ordersPerThread = 25;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ordersPerThread; i++) {
+                        String orderNumber = "BUSY-" + thread + "-" + i;
+                        transactionTemplate.executeWithoutResult(status -> userRepository.findById(userId).orElseThrow()
+                                .addOrder(new Order(orderNumber, new BigDecimal("1.25"))));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertAggregatesMatchOrders(userId, threads * ordersPerThread, "125.00");
+    }
+
+    @Test
+    @DisplayName("reconcile should repair users whose stored aggregates drifted from their orders")
+    public void reconcile_ShouldRepairDriftedAggregates() {
+        Long userId = transactionTemplate.execute(status -> {
+            User user = new User("Drifted User", "drifted@example.com");
+            user.addOrder(new Order("DRIFT-1", new BigDecimal("40.00")));
+            user.addOrder(new Order("DRIFT-2", new BigDecimal("2.00")));
+            return userRepository.save(user).getId();
+        });
+        // as if orders had been written by SQL behind the aggregates' back
+        jdbcTemplate.update("UPDATE users SET order_count = 7, total_amount = 1.00 WHERE id = ?", userId);
+
+        assertTrue(orderAggregateReconciler.reconcile() >= 1);
+
+        assertAggregatesMatchOrders(userId, 2, "42.00");
+        assertEquals(0, orderAggregateReconciler.reconcile());
+    }
+
+    private void assertAggregatesMatchOrders(Long userId, long expectedCount, String expectedAmount) {
+        long storedCount = jdbcTemplate.queryForObject("SELECT order_count FROM users WHERE id = ?", Long.class, userId);
+        BigDecimal storedAmount = jdbcTemplate.queryForObject("SELECT total_amount FROM users WHERE id = ?",
+                BigDecimal.class, userId);
+        long actualCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE user_id = ?", Long.class, userId);
+        BigDecimal actualAmount = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(amount), 0) FROM orders WHERE user_id = ?",
+                BigDecimal.class, userId);
+
+        assertEquals(actualCount, storedCount);
+        assertEquals(0, actualAmount.compareTo(storedAmount), "stored " + storedAmount + ", actual " + actualAmount);
+        assertEquals(expectedCount, storedCount);
+        assertEquals(0, new BigDecimal(expectedAmount).compareTo(storedAmount));
+    }
+}
@@ -0,0 +1,56 @@
+package com.inna.jpa_one2many.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for OrderChangeGate, which keeps order writes from committing during an initial load.
+ */
+public class OrderChangeGateTest {
+
+    @Test
+    @DisplayName("a load should wait until every transaction that changed orders has completed")
+    public void exclusively_ShouldWaitForOpenTransactions() throws Exception {
+        OrderChangeGate gate = new OrderChangeGate();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            gate.enter();
+            gate.enter();
+            CompletableFuture<String> load = CompletableFuture.supplyAsync(() -> gate.exclusively(() -> "loaded"));
+            assertThrows(TimeoutException.class, () -> load.get(200, TimeUnit.MILLISECONDS));
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            synchronizations.getFirst().afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            assertThrows(TimeoutException.class, () -> load.get(200, TimeUnit.MILLISECONDS));
+
+            synchronizations.getLast().afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            assertEquals("loaded", load.get(5, TimeUnit.SECONDS));
+            assertNull(TransactionSynchronizationManager.getResource(gate));
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("changes outside a transaction should not hold the gate")
+    public void enter_WithoutTransaction_ShouldNotBlockLoads() {
+        OrderChangeGate gate = new OrderChangeGate();
+        gate.enter();
+
+        assertEquals("loaded", gate.exclusively(() -> "loaded"));
+    }
+}
@@ -0,0 +1,132 @@
+package com.inna.jpa_one2many.service;
+
+import com.inna.jpa_one2many.dto.OrderIngestItem;
+import com.inna.jpa_one2many.dto.OrderIngestItemResult;
+import com.inna.jpa_one2many.dto.OrderIngestResult;
+import com.inna.jpa_one2many.entity.User;
+import com.inna.jpa_one2many.repository.OrderRepository;
+import com.inna.jpa_one2many.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for OrderIngestionService, ingesting order batches in small chunks so that
+ * batches span several chunk transactions.
+ */
+// own database: this context's order read structures must not miss orders written by the other test contexts
+@SpringBootTest(properties = {
+        "orders.ingest.chunk-size=3",
+        "spring.datasource.url=jdbc:h2:mem:ingestiondb;DB_CLOSE_ON_EXIT=FALSE"
+})
+public class OrderIngestionServiceTest {
+
+    @Autowired
+    private OrderIngestionService orderIngestionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoSpyBean
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("ingesting the same batch again should report every order as a duplicate and change nothing")
+    public void ingestOrders_Twice_ShouldBeIdempotent() {
+        Long userId = userRepository.save(new User("Ingest Again User", "ingest-again@example.com")).getId();
+        List<OrderIngestItem> batch = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            batch.add(new OrderIngestItem(userId, "AGAIN-" + i, new BigDecimal("2.50"), null));
+        }
+
+        OrderIngestResult first = orderIngestionService.ingestOrders(batch);
+        OrderIngestResult second = orderIngestionService.ingestOrders(batch);
+
+        assertEquals(7, first.getCreated());
+        assertEquals(0, second.getCreated());
+        assertEquals(7, second.getDuplicates());
+        assertAggregates(userId, 7, "17.50");
+    }
+
+    @Test
+    @DisplayName("a chunk hitting an order number stored concurrently should be retried and report it as a duplicate")
+    public void ingestOrders_WithConcurrentDuplicate_ShouldRetryChunk() {
+        Long userId = userRepository.save(new User("Ingest Race User", "ingest-race@example.com")).getId();
+        orderIngestionService.ingestOrders(List.of(new OrderIngestItem(userId, "RACE-1", new BigDecimal("10.00"), null)));
+
+        // the first lookup misses RACE-1, as if another ingestion stored it right after the lookup
+        Answer<?> delegate = mockingDetails(orderRepository).getMockCreationSettings().getDefaultAnswer();
+        doReturn(Set.of()).doAnswer(delegate).when(orderRepository).findExistingOrderNumbers(anyCollection());
+        OrderIngestResult result;
+        try {
+            result = orderIngestionService.ingestOrders(List.of(
+                    new OrderIngestItem(userId, "RACE-0", new BigDecimal("1.00"), null),
+                    new OrderIngestItem(userId, "RACE-1", new BigDecimal("10.00"), null),
+                    new OrderIngestItem(userId, "RACE-2", new BigDecimal("2.00"), null)));
+        } finally {
+            reset(orderRepository);
+        }
+
+        assertEquals(List.of(OrderIngestItemResult.Status.CREATED, OrderIngestItemResult.Status.DUPLICATE,
+                        OrderIngestItemResult.Status.CREATED),
+                result.getItems().stream().map(OrderIngestItemResult::getStatus).toList());
+        // the rolled back attempt left neither orders nor aggregate changes behind
+        assertAggregates(userId, 3, "13.00");
+    }
+
+    @Test
+    @DisplayName("aggregates should be exact when a batch spans several chunks and users")
+    public void ingestOrders_AcrossChunks_ShouldKeepAggregatesExact() {
+        Long first = userRepository.save(new User("Chunk User A", "chunk-a@example.com")).getId();
+        Long second = userRepository.save(new User("Chunk User B", "chunk-b@example.com")).getId();
+        List<OrderIngestItem> batch = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            batch.add(new OrderIngestItem(i % 2 == 0 ? first : second, "CHUNK-" + i, new BigDecimal(i + ".10"), null));
+        }
+        batch.add(new OrderIngestItem(first, "CHUNK-3", new BigDecimal("99.00"), null)); // duplicate within the batch
+        batch.add(new OrderIngestItem(Long.MAX_VALUE, "CHUNK-X", new BigDecimal("1.00"), null)); // unknown user
+
+        OrderIngestResult result = orderIngestionService.ingestOrders(batch);
+
+        assertEquals(11, result.getCreated());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(1, result.getInvalid());
+        assertAggregates(first, 6, "30.60"); // 0.10 + 2.10 + 4.10 + 6.10 + 8.10 + 10.10
+        assertAggregates(second, 5, "25.50"); // 1.10 + 3.10 + 5.10 + 7.10 + 9.10
+    }
+
+    private void assertAggregates(Long userId, long expectedCount, String expectedAmount) {
+        long storedCount = jdbcTemplate.queryForObject("SELECT order_count FROM users WHERE id = ?", Long.class, userId);
+        BigDecimal storedAmount = jdbcTemplate.queryForObject("SELECT total_amount FROM users WHERE id = ?",
+                BigDecimal.class, userId);
+        long actualCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE user_id = ?", Long.class, userId);
+        BigDecimal actualAmount = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(amount), 0) FROM orders WHERE user_id = ?",
+                BigDecimal.class, userId);
+
+        assertEquals(expectedCount, actualCount);
+        assertEquals(0, new BigDecimal(expectedAmount).compareTo(actualAmount), "actual " + actualAmount);
+        assertEquals(actualCount, storedCount);
+        assertEquals(0, actualAmount.compareTo(storedAmount), "stored " + storedAmount + ", actual " + actualAmount);
+    }
+}
@@ -0,0 +1,105 @@
+package com.inna.jpa_one2many.service;
+
+import com.inna.jpa_one2many.dto.OrderDTO;
+import com.inna.jpa_one2many.dto.OrderPage;
+import com.inna.jpa_one2many.entity.Order;
+import com.inna.jpa_one2many.entity.User;
+import com.inna.jpa_one2many.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Inna Eisenstark
+ * Created: 2025-06-20
+ * Description: Test class for UserOrderService, paging through a user's order history with keyset cursors.
+ */
+@SpringBootTest
+public class UserOrderServiceTest {
+
+    private static final LocalDateTime SHARED_DATE = LocalDateTime.of(2025, 5, 1, 12, 0);
+
+    @Autowired
+    private UserOrderService userOrderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("cursor pages should cover orders sharing an order date without gaps or duplicates")
+    public void getUserOrders_WithSharedOrderDates_ShouldPageWithoutGaps() {
+        LocalDateTime[] dates = {
+                SHARED_DATE, SHARED_DATE.plusDays(1), SHARED_DATE, SHARED_DATE, SHARED_DATE.minusDays(1),
+                SHARED_DATE, SHARED_DATE, SHARED_DATE.plusDays(1), SHARED_DATE
+        };
+        Long userId = transactionTemplate.execute(status -> {
+            User user = new User("Paging User", "paging@example.com");
+            for (int i = 0; i < dates.length; i++) {
+                Order order = new Order("PAGE-" + i, new BigDecimal("1.00"));
+                order.setOrderDate(dates[i]);
+                user.addOrder(order);
+            }
+            return userRepository.save(user).getId();
+        });
+
+        List<OrderDTO> expected = userOrderService.getUserOrders(userId, null, 100, null, null).getItems();
+        assertEquals(dates.length, expected.size());
+        assertEquals(expected, expected.stream()
+                .sorted(Comparator.comparing(OrderDTO::getOrderDate).thenComparing(OrderDTO::getId).reversed())
+                .toList());
+
+        for (int limit = 1; limit <= 4; limit++) {
+            List<Long> seen = new ArrayList<>();
+            String after = null;
+            do {
+                OrderPage page = userOrderService.getUserOrders(userId, after, limit, null, null);
+                assertTrue(page.getItems().size() <= limit);
+                page.getItems().forEach(order -> seen.add(order.getId()));
+                after = page.getNextCursor();
+            } while (after != null);
+
+            assertEquals(expected.stream().map(OrderDTO::getId).toList(), seen, "limit " + limit);
+            assertEquals(seen.size(), new HashSet<>(seen).size());
+        }
+    }
+
+    @Test
+    @DisplayName("the order history should only be bounded by the dates that are given")
+    public void getUserOrders_WithoutBounds_ShouldIncludeAnyDate() {
+        LocalDateTime ancient = LocalDateTime.of(1850, 1, 1, 0, 0);
+        Long userId = transactionTemplate.execute(status -> {
+            User user = new User("History User", "history@example.com");
+            Order old = new Order("HIST-1", new BigDecimal("3.00"));
+            old.setOrderDate(ancient);
+            user.addOrder(old);
+            Order recent = new Order("HIST-2", new BigDecimal("4.00"));
+            recent.setOrderDate(SHARED_DATE);
+            user.addOrder(recent);
+            return userRepository.save(user).getId();
+        });
+
+        assertEquals(List.of("HIST-2", "HIST-1"), orderNumbers(userOrderService.getUserOrders(userId, null, 10, null, null)));
+        assertEquals(List.of("HIST-1"), orderNumbers(userOrderService.getUserOrders(userId, null, 10, null, SHARED_DATE)));
+        assertEquals(List.of("HIST-2"), orderNumbers(userOrderService.getUserOrders(userId, null, 10, SHARED_DATE, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> userOrderService.getUserOrders(userId, null, 10, SHARED_DATE, SHARED_DATE));
+    }
+
+    private static List<String> orderNumbers(OrderPage page) {
+        return page.getItems().stream().map(OrderDTO::getOrderNumber).toList();
+    }
+}